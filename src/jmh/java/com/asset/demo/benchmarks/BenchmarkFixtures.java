@@ -0,0 +1,47 @@
+package com.asset.demo.benchmarks;
+
+import com.asset.demo.entities.Author;
+import com.asset.demo.entities.Book;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic in-memory catalog shared by all protocol benchmarks,
+ * so every protocol maps and encodes exactly the same data.
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Build {@code count} books spread over a small set of authors
+     * (one author per 20 books, capped at 100), like a real catalog where
+     * a handful of authors own most books.
+     */
+    public static List<Book> books(int count) {
+        int authorCount = Math.max(1, Math.min(100, count / 20));
+        List<Author> authors = new ArrayList<>(authorCount);
+        for (int i = 0; i < authorCount; i++) {
+            authors.add(Author.builder()
+                    .id((long) i + 1)
+                    .name("Author " + (i + 1))
+                    .email("author" + (i + 1) + "@example.com")
+                    .bio("Biography of author " + (i + 1))
+                    .build());
+        }
+
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            books.add(Book.builder()
+                    .id((long) i + 1)
+                    .title("Book title number " + (i + 1))
+                    .isbn(String.format("978-%010d", i + 1))
+                    .price(10.0 + (i % 90))
+                    .author(authors.get(i % authorCount))
+                    .build());
+        }
+        return books;
+    }
+}
@@ -0,0 +1,76 @@
+package com.asset.demo.benchmarks;
+
+import com.asset.demo.entities.Book;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GraphQL path: execution of {@code allBooks { id title author { name } }} against
+ * {@code graphql/schema.graphqls}, with and without encoding the result to JSON.
+ * Data fetchers return the in-memory catalog so only GraphQL engine cost is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GraphQLExecutionBenchmark {
+
+    private static final String QUERY = "{ allBooks { id title author { name } } }";
+
+    @Param({"10", "1000", "100000"})
+    public int books;
+
+    private GraphQL graphQL;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        List<Book> catalog = BenchmarkFixtures.books(books);
+
+        TypeDefinitionRegistry registry;
+        try (Reader reader = new InputStreamReader(
+                getClass().getResourceAsStream("/graphql/schema.graphqls"), StandardCharsets.UTF_8)) {
+            registry = new SchemaParser().parse(reader);
+        }
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder.dataFetcher("allBooks", env -> catalog))
+                .build();
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(registry, wiring);
+
+        graphQL = GraphQL.newGraphQL(schema).build();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        System.out.printf("%n[graphql] payload size for %d books: %d bytes%n", books, executeAndSerialize().length);
+    }
+
+    @Benchmark
+    public ExecutionResult execute() {
+        return graphQL.execute(QUERY);
+    }
+
+    @Benchmark
+    public byte[] executeAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(graphQL.execute(QUERY).toSpecification());
+    }
+}
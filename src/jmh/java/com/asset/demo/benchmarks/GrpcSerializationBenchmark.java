@@ -0,0 +1,65 @@
+package com.asset.demo.benchmarks;
+
+import com.asset.demo.entities.Book;
+import com.asset.demo.grpc.BookListResponse;
+import com.asset.demo.mappers.ProtoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * gRPC path: {@link ProtoMapper} as used by the gRPC services plus {@code BookListResponse.toByteArray()}.
+ * The {@code PerBook} variants rebuild the author message for every book, as the services did
+ * before author interning, to keep the difference measurable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GrpcSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int books;
+
+    private List<Book> catalog;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = BenchmarkFixtures.books(books);
+
+        System.out.printf("%n[grpc] payload size for %d books: %d bytes%n", books, mapBookList().getSerializedSize());
+    }
+
+    @Benchmark
+    public BookListResponse mapBookList() {
+        return ProtoMapper.toBookListResponse(catalog);
+    }
+
+    @Benchmark
+    public BookListResponse mapBookListPerBook() {
+        BookListResponse.Builder builder = BookListResponse.newBuilder();
+        for (Book book : catalog) {
+            builder.addBooks(ProtoMapper.toProto(book));
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public byte[] serializeMappedBookList() {
+        // Fresh messages each time, otherwise the memoized size hides part of the encoding cost
+        return mapBookList().toByteArray();
+    }
+
+    @Benchmark
+    public byte[] serializeMappedBookListPerBook() {
+        return mapBookListPerBook().toByteArray();
+    }
+}
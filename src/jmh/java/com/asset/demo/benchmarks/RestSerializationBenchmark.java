@@ -0,0 +1,50 @@
+package com.asset.demo.benchmarks;
+
+import com.asset.demo.entities.Book;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST path: Jackson serialization of the {@code List<Book>} returned by
+ * {@code BookRestController.getAllBooks}, using the same ObjectMapper defaults Spring Boot applies.
+ * Run with the gc profiler (enabled in build.gradle) to get bytes allocated per op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RestSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int books;
+
+    private List<Book> catalog;
+    private ObjectWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        catalog = BenchmarkFixtures.books(books);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(TypeFactory.defaultInstance().constructCollectionType(List.class, Book.class));
+
+        System.out.printf("%n[rest] payload size for %d books: %d bytes%n", books, writer.writeValueAsBytes(catalog).length);
+    }
+
+    @Benchmark
+    public byte[] serializeBookList() throws Exception {
+        return writer.writeValueAsBytes(catalog);
+    }
+}
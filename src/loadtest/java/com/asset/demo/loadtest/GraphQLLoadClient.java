@@ -0,0 +1,88 @@
+package com.asset.demo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Drives {@code /graphql} over HTTP POST, selecting the same fields the gRPC {@code BookMessage} carries.
+ */
+public class GraphQLLoadClient implements ProtocolClient {
+
+    private static final String BOOK_FIELDS = "id title isbn price author { id name email bio }";
+
+    private static final String GET_BY_ID =
+            "query BookById($id: ID!) { book(id: $id) { " + BOOK_FIELDS + " } }";
+    private static final String LIST_ALL =
+            "query BooksPage($first: Int) { booksConnection(first: $first) { edges { node { " + BOOK_FIELDS + " } } } }";
+    private static final String SEARCH_BY_AUTHOR =
+            "query BooksByAuthorName($authorName: String!) { booksByAuthorName(authorName: $authorName) { " + BOOK_FIELDS + " } }";
+    private static final String CREATE =
+            "mutation CreateBook($input: CreateBookDto!) { createBook(input: $input) { " + BOOK_FIELDS + " } }";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI endpoint;
+
+    public GraphQLLoadClient(String host, int port) {
+        this.endpoint = URI.create("http://" + host + ":" + port + "/graphql");
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return "graphql";
+    }
+
+    @Override
+    public void getById(long bookId) throws Exception {
+        execute(GET_BY_ID, Map.of("id", bookId));
+    }
+
+    @Override
+    public void listAll() throws Exception {
+        execute(LIST_ALL, Map.of("first", Workload.LIST_PAGE_SIZE));
+    }
+
+    @Override
+    public void searchByAuthor(String authorName) throws Exception {
+        execute(SEARCH_BY_AUTHOR, Map.of("authorName", authorName));
+    }
+
+    @Override
+    public void create(String title, String isbn, double price, long authorId) throws Exception {
+        execute(CREATE, Map.of("input", Map.of(
+                "title", title,
+                "isbn", isbn,
+                "price", price,
+                "authorId", authorId)));
+    }
+
+    private void execute(String query, Map<String, Object> variables) throws IOException, InterruptedException {
+        byte[] body = objectMapper.writeValueAsBytes(Map.of("query", query, "variables", variables));
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("HTTP " + response.statusCode() + " for " + endpoint);
+        }
+        // GraphQL reports failures with 200 and an "errors" array
+        JsonNode errors = objectMapper.readTree(response.body()).get("errors");
+        if (errors != null && !errors.isEmpty()) {
+            throw new IOException("GraphQL errors: " + errors);
+        }
+    }
+}
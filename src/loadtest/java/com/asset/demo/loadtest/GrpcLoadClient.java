@@ -0,0 +1,63 @@
+package com.asset.demo.loadtest;
+
+import com.asset.demo.grpc.AuthorSearchRequest;
+import com.asset.demo.grpc.BookIdRequest;
+import com.asset.demo.grpc.BookServiceGrpc;
+import com.asset.demo.grpc.CreateBookRequest;
+import com.asset.demo.grpc.ListBooksRequest;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives {@code BookService} with blocking stubs over one shared HTTP/2 channel.
+ */
+public class GrpcLoadClient implements ProtocolClient {
+
+    private final ManagedChannel channel;
+    private final BookServiceGrpc.BookServiceBlockingStub stub;
+
+    public GrpcLoadClient(String host, int port) {
+        this.channel = ManagedChannelBuilder.forAddress(host, port)
+                .usePlaintext()
+                .maxInboundMessageSize(64 * 1024 * 1024)
+                .build();
+        this.stub = BookServiceGrpc.newBlockingStub(channel);
+    }
+
+    @Override
+    public String name() {
+        return "grpc";
+    }
+
+    @Override
+    public void getById(long bookId) {
+        stub.getBook(BookIdRequest.newBuilder().setId(bookId).build());
+    }
+
+    @Override
+    public void listAll() {
+        stub.getAllBooks(ListBooksRequest.newBuilder().setPageSize(Workload.LIST_PAGE_SIZE).build());
+    }
+
+    @Override
+    public void searchByAuthor(String authorName) {
+        stub.searchByAuthor(AuthorSearchRequest.newBuilder().setAuthorName(authorName).build());
+    }
+
+    @Override
+    public void create(String title, String isbn, double price, long authorId) {
+        stub.createBook(CreateBookRequest.newBuilder()
+                .setTitle(title)
+                .setIsbn(isbn)
+                .setPrice(price)
+                .setAuthorId(authorId)
+                .build());
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
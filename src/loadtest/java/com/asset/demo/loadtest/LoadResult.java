@@ -0,0 +1,33 @@
+package com.asset.demo.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outcome of one protocol/workload run. Latencies are recorded in microseconds.
+ */
+public record LoadResult(String protocol, Workload workload, long errors, double seconds, Histogram latencies) {
+
+    static final String HEADER = String.format("%-8s %-17s %10s %8s %10s %10s %10s %10s %10s",
+            "protocol", "workload", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+
+    public long requests() {
+        return latencies.getTotalCount();
+    }
+
+    public double throughput() {
+        return requests() / seconds;
+    }
+
+    public String format() {
+        return String.format("%-8s %-17s %10d %8d %10.1f %10.3f %10.3f %10.3f %10.3f",
+                protocol, workload.key(), requests(), errors, throughput(),
+                millis(latencies.getValueAtPercentile(50.0)),
+                millis(latencies.getValueAtPercentile(99.0)),
+                millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
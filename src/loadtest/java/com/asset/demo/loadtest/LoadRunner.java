@@ -0,0 +1,104 @@
+package com.asset.demo.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs one workload against one protocol client, either closed loop (each worker sends the next
+ * request when the previous one returns) or open loop (requests are issued at a constant rate).
+ * <p>
+ * In open-loop mode latency is measured from the intended send time, not the actual one,
+ * so queueing behind a slow server is counted instead of hidden (coordinated omission).
+ */
+public class LoadRunner {
+
+    private static final AtomicLong CREATE_SEQUENCE = new AtomicLong();
+
+    private final LoadTestOptions options;
+    private final SeededCatalog catalog;
+
+    public LoadRunner(LoadTestOptions options, SeededCatalog catalog) {
+        this.options = options;
+        this.catalog = catalog;
+    }
+
+    public LoadResult run(ProtocolClient client, Workload workload) throws InterruptedException {
+        drive(client, workload, options.warmup(), new Recorder(3), new AtomicLong());
+
+        Recorder recorder = new Recorder(3);
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        drive(client, workload, options.duration(), recorder, errors);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Histogram latencies = recorder.getIntervalHistogram();
+        return new LoadResult(client.name(), workload, errors.get(), seconds, latencies);
+    }
+
+    private void drive(ProtocolClient client, Workload workload, Duration duration,
+                       Recorder recorder, AtomicLong errors) throws InterruptedException {
+        if (duration.isZero()) {
+            return;
+        }
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency());
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        if (options.openLoop()) {
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+            long start = System.nanoTime();
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+                if (intended >= deadline) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                workers.execute(() -> invokeAndRecord(client, workload, intended, recorder, errors));
+            }
+        } else {
+            for (int i = 0; i < options.concurrency(); i++) {
+                workers.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        invokeAndRecord(client, workload, System.nanoTime(), recorder, errors);
+                    }
+                });
+            }
+        }
+
+        workers.shutdown();
+        if (!workers.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    private void invokeAndRecord(ProtocolClient client, Workload workload, long startNanos,
+                                 Recorder recorder, AtomicLong errors) {
+        try {
+            invoke(client, workload);
+            recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+        } catch (Exception e) {
+            errors.incrementAndGet();
+        }
+    }
+
+    private void invoke(ProtocolClient client, Workload workload) throws Exception {
+        switch (workload) {
+            case GET_BY_ID -> client.getById(catalog.randomBookId());
+            case LIST_ALL -> client.listAll();
+            case SEARCH_BY_AUTHOR -> client.searchByAuthor(catalog.randomAuthorName());
+            case CREATE -> {
+                long n = CREATE_SEQUENCE.incrementAndGet();
+                client.create("Load test book " + n, client.name() + "-" + n, 19.99, catalog.randomAuthorId());
+            }
+        }
+    }
+}
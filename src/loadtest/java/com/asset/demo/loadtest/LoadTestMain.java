@@ -0,0 +1,78 @@
+package com.asset.demo.loadtest;
+
+import com.asset.demo.DemoApplication;
+import com.asset.demo.repositories.AuthorRepository;
+import com.asset.demo.repositories.BookRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application in-process, seeds a catalog and sends the same workloads
+ * over REST, gRPC and GraphQL, printing throughput and latency percentiles per run.
+ * <p>
+ * Example: {@code ./gradlew loadTest -PloadTestArgs="--protocols=rest,grpc --concurrency=64 --rate=2000"}
+ * <ul>
+ *     <li>{@code --protocols} rest,grpc,graphql</li>
+ *     <li>{@code --workloads} get-by-id,list-all,search-by-author,create</li>
+ *     <li>{@code --concurrency} worker threads (default 16)</li>
+ *     <li>{@code --rate} requests per second for open-loop mode, 0 = closed loop (default)</li>
+ *     <li>{@code --warmup}, {@code --duration} seconds per run (default 5 and 20)</li>
+ *     <li>{@code --authors}, {@code --books} seeded catalog size (default 50 and 1000)</li>
+ * </ul>
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        ConfigurableApplicationContext context = SpringApplication.run(DemoApplication.class,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.orm.jdbc.bind=WARN");
+        try {
+            Environment environment = context.getEnvironment();
+            int httpPort = environment.getProperty("local.server.port", Integer.class, 8080);
+            int grpcPort = environment.getProperty("grpc.server.port", Integer.class, 9020);
+
+            SeededCatalog catalog = SeededCatalog.seed(
+                    context.getBean(AuthorRepository.class),
+                    context.getBean(BookRepository.class),
+                    options.authors(),
+                    options.books());
+            LoadRunner runner = new LoadRunner(options, catalog);
+
+            System.out.printf("%nMode: %s, concurrency: %d, warmup: %ds, duration: %ds, catalog: %d authors / %d books%n%n",
+                    options.openLoop() ? "open loop @ " + options.rate() + " req/s" : "closed loop",
+                    options.concurrency(), options.warmup().toSeconds(), options.duration().toSeconds(),
+                    options.authors(), options.books());
+            System.out.println(LoadResult.HEADER);
+
+            List<LoadResult> results = new ArrayList<>();
+            for (String protocol : options.protocols()) {
+                try (ProtocolClient client = newClient(protocol.trim(), httpPort, grpcPort)) {
+                    for (Workload workload : options.workloads()) {
+                        LoadResult result = runner.run(client, workload);
+                        results.add(result);
+                        System.out.println(result.format());
+                    }
+                }
+            }
+            System.out.printf("%nCompleted %d runs%n", results.size());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static ProtocolClient newClient(String protocol, int httpPort, int grpcPort) {
+        return switch (protocol) {
+            case "rest" -> new RestLoadClient("localhost", httpPort);
+            case "grpc" -> new GrpcLoadClient("localhost", grpcPort);
+            case "graphql" -> new GraphQLLoadClient("localhost", httpPort);
+            default -> throw new IllegalArgumentException("Unknown protocol: " + protocol);
+        };
+    }
+}
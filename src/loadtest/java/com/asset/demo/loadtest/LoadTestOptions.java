@@ -0,0 +1,59 @@
+package com.asset.demo.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options of the load generator, given as {@code --name=value} pairs.
+ *
+ * @param protocols   protocols to drive: rest, grpc, graphql
+ * @param workloads   workloads to run against each protocol
+ * @param concurrency closed loop: number of workers; open loop: size of the sender pool
+ * @param rate        requests per second for open-loop mode, 0 for closed loop
+ * @param warmup      warmup duration per run, not recorded
+ * @param duration    measured duration per run
+ * @param authors     number of seeded authors
+ * @param books       number of seeded books
+ */
+public record LoadTestOptions(List<String> protocols,
+                              List<Workload> workloads,
+                              int concurrency,
+                              int rate,
+                              Duration warmup,
+                              Duration duration,
+                              int authors,
+                              int books) {
+
+    public boolean openLoop() {
+        return rate > 0;
+    }
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        List<String> protocols = Arrays.asList(values.getOrDefault("protocols", "rest,grpc,graphql").split(","));
+        List<Workload> workloads = Arrays.stream(values.getOrDefault("workloads", "get-by-id,list-all,search-by-author,create").split(","))
+                .map(Workload::fromKey)
+                .toList();
+
+        return new LoadTestOptions(
+                protocols,
+                workloads,
+                Integer.parseInt(values.getOrDefault("concurrency", "16")),
+                Integer.parseInt(values.getOrDefault("rate", "0")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "5"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "20"))),
+                Integer.parseInt(values.getOrDefault("authors", "50")),
+                Integer.parseInt(values.getOrDefault("books", "1000")));
+    }
+}
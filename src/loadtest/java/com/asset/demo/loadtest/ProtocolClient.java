@@ -0,0 +1,22 @@
+package com.asset.demo.loadtest;
+
+/**
+ * One protocol stack as seen by the load generator. Implementations must be thread-safe
+ * and throw on any failed call so the runner can count it as an error.
+ */
+public interface ProtocolClient extends AutoCloseable {
+
+    String name();
+
+    void getById(long bookId) throws Exception;
+
+    void listAll() throws Exception;
+
+    void searchByAuthor(String authorName) throws Exception;
+
+    void create(String title, String isbn, double price, long authorId) throws Exception;
+
+    @Override
+    default void close() throws Exception {
+    }
+}
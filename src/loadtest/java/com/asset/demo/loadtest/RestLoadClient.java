@@ -0,0 +1,72 @@
+package com.asset.demo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Drives {@code /api/rest/books}.
+ */
+public class RestLoadClient implements ProtocolClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    public RestLoadClient(String host, int port) {
+        this.baseUrl = "http://" + host + ":" + port + "/api/rest/books";
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return "rest";
+    }
+
+    @Override
+    public void getById(long bookId) throws Exception {
+        send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + bookId)).GET().build());
+    }
+
+    @Override
+    public void listAll() throws Exception {
+        send(HttpRequest.newBuilder(URI.create(baseUrl + "?limit=" + Workload.LIST_PAGE_SIZE)).GET().build());
+    }
+
+    @Override
+    public void searchByAuthor(String authorName) throws Exception {
+        String query = URLEncoder.encode(authorName, StandardCharsets.UTF_8);
+        send(HttpRequest.newBuilder(URI.create(baseUrl + "/search?authorName=" + query)).GET().build());
+    }
+
+    @Override
+    public void create(String title, String isbn, double price, long authorId) throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(Map.of(
+                "title", title,
+                "isbn", isbn,
+                "price", price,
+                "authorId", authorId));
+        send(HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build());
+    }
+
+    private void send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("HTTP " + response.statusCode() + " for " + request.uri());
+        }
+    }
+}
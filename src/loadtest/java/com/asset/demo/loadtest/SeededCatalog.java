@@ -0,0 +1,57 @@
+package com.asset.demo.loadtest;
+
+import com.asset.demo.entities.Author;
+import com.asset.demo.entities.Book;
+import com.asset.demo.repositories.AuthorRepository;
+import com.asset.demo.repositories.BookRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Data inserted before the run; workloads pick random existing IDs and names from it.
+ */
+public record SeededCatalog(List<Long> bookIds, List<Long> authorIds, List<String> authorNames) {
+
+    public static SeededCatalog seed(AuthorRepository authorRepository, BookRepository bookRepository,
+                                     int authorCount, int bookCount) {
+        List<Author> authors = new ArrayList<>(authorCount);
+        for (int i = 1; i <= authorCount; i++) {
+            authors.add(Author.builder()
+                    .name("Load Author " + i)
+                    .email("load.author" + i + "@example.com")
+                    .bio("Seeded by the load generator")
+                    .build());
+        }
+        authors = authorRepository.saveAll(authors);
+
+        List<Book> books = new ArrayList<>(bookCount);
+        for (int i = 1; i <= bookCount; i++) {
+            books.add(Book.builder()
+                    .title("Seeded book " + i)
+                    .isbn("seed-" + i)
+                    .price(5.0 + (i % 50))
+                    .author(authors.get(i % authors.size()))
+                    .build());
+        }
+        books = bookRepository.saveAll(books);
+
+        return new SeededCatalog(
+                books.stream().map(Book::getId).toList(),
+                authors.stream().map(Author::getId).toList(),
+                authors.stream().map(Author::getName).toList());
+    }
+
+    public long randomBookId() {
+        return bookIds.get(ThreadLocalRandom.current().nextInt(bookIds.size()));
+    }
+
+    public long randomAuthorId() {
+        return authorIds.get(ThreadLocalRandom.current().nextInt(authorIds.size()));
+    }
+
+    public String randomAuthorName() {
+        return authorNames.get(ThreadLocalRandom.current().nextInt(authorNames.size()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.asset.demo.loadtest;
+
+/**
+ * Operations every protocol client must implement, so the three stacks are compared on identical work.
+ */
+public enum Workload {
+    GET_BY_ID("get-by-id"),
+    // First page of the list endpoint; all three are paginated with the same server-side maximum
+    LIST_ALL("list-all"),
+    SEARCH_BY_AUTHOR("search-by-author"),
+    CREATE("create");
+
+    static final int LIST_PAGE_SIZE = 100;
+
+    private final String key;
+
+    Workload(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static Workload fromKey(String key) {
+        for (Workload workload : values()) {
+            if (workload.key.equalsIgnoreCase(key) || workload.name().equalsIgnoreCase(key)) {
+                return workload;
+            }
+        }
+        throw new IllegalArgumentException("Unknown workload: " + key);
+    }
+}
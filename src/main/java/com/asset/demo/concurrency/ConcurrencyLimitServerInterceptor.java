@@ -0,0 +1,71 @@
+package com.asset.demo.concurrency;
+
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Admits gRPC listener callbacks through the {@link ConcurrencyLimiter}. Service code (and its JPA calls)
+ * runs inside onMessage, onHalfClose and onReady, so a slot is held per callback rather than for the
+ * whole lifetime of a stream.
+ * <p>
+ * Methods in {@code exemptMethods} (full method names) are not limited: change feeds do not touch the database,
+ * and a rejected onReady would close a long-lived watch just because a burst of other requests is queued.
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitServerInterceptor implements ServerInterceptor {
+
+    private final ConcurrencyLimiter limiter;
+    private final Set<String> exemptMethods;
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call,
+                                                                 Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        if (exemptMethods.contains(call.getMethodDescriptor().getFullMethodName())) {
+            return next.startCall(call, headers);
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(next.startCall(call, headers)) {
+
+            // Callbacks of one call are serialized, so a plain flag is enough
+            private boolean rejected;
+
+            @Override
+            public void onMessage(ReqT message) {
+                limited(() -> super.onMessage(message));
+            }
+
+            @Override
+            public void onHalfClose() {
+                limited(super::onHalfClose);
+            }
+
+            @Override
+            public void onReady() {
+                limited(super::onReady);
+            }
+
+            private void limited(Runnable callback) {
+                if (rejected) {
+                    return;
+                }
+                if (!limiter.tryAcquire()) {
+                    rejected = true;
+                    call.close(Status.RESOURCE_EXHAUSTED.withDescription("Too many concurrent requests"), new Metadata());
+                    return;
+                }
+                try {
+                    callback.run();
+                } finally {
+                    limiter.release();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.asset.demo.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fair semaphore shared by the REST/GraphQL filter and the gRPC interceptor, so all three stacks
+ * queue for the same database capacity instead of piling up inside the connection pool.
+ */
+public class ConcurrencyLimiter {
+
+    private final Semaphore permits;
+    private final int maxInFlight;
+    private final long acquireTimeoutNanos;
+
+    public ConcurrencyLimiter(int maxInFlight, Duration acquireTimeout) {
+        this.permits = new Semaphore(maxInFlight, true);
+        this.maxInFlight = maxInFlight;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    /**
+     * Wait up to the configured timeout for a slot; a {@code true} result must be paired with {@link #release()}
+     */
+    public boolean tryAcquire() {
+        try {
+            return permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getAvailable() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,26 @@
+package com.asset.demo.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Admission limit in front of blocking handlers, bound from {@code app.concurrency.*}.
+ * Only applied in virtual-thread mode ({@code spring.threads.virtual.enabled}), where the
+ * thread pool no longer bounds how many requests reach the connection pool at once.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.concurrency")
+public class ConcurrencyProperties {
+
+    /**
+     * Requests/gRPC callbacks allowed to run at once; 0 derives it from the Hikari maximum pool size
+     */
+    private int maxInFlight = 0;
+
+    /**
+     * How long a request may wait for a slot before it is rejected (HTTP 503 / gRPC RESOURCE_EXHAUSTED)
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(5);
+}
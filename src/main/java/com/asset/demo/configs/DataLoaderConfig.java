@@ -1,23 +1,47 @@
 package com.asset.demo.configs;
 
+import com.asset.demo.entities.Author;
 import com.asset.demo.entities.Book;
 import com.asset.demo.repositories.BookRepository;
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldParameters;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.dataloader.DataLoader;
 import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderOptions;
 import org.dataloader.DataLoaderRegistry;
+import org.dataloader.stats.SimpleStatisticsCollector;
+import org.dataloader.stats.Statistics;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.graphql.server.WebGraphQlInterceptor;
 import org.springframework.graphql.server.WebGraphQlRequest;
 import org.springframework.graphql.server.WebGraphQlResponse;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -25,41 +49,163 @@ import java.util.stream.Collectors;
 @Log4j2
 public class DataLoaderConfig {
 
+    public static final String BOOKS_BY_AUTHOR_IDS = "booksByAuthorIds";
+    public static final String AUTHOR_BY_ID = "authorById";
+
+    // Oracle rejects IN lists longer than this (ORA-01795)
+    public static final int MAX_IN_LIST = 1000;
+
     private final BookRepository bookRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final GraphQLProperties graphQLProperties;
+
+    // Batch functions block on JDBC, so they get their own threads instead of the common ForkJoinPool
+    private ExecutorService batchExecutor;
+
+    @PostConstruct
+    void startBatchExecutor() {
+        GraphQLProperties.Executor executor = graphQLProperties.getDataLoader().getExecutor();
+        batchExecutor = executor.isVirtualThreads()
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dataloader-", 0).factory())
+                : Executors.newFixedThreadPool(executor.getPoolSize(), Thread.ofPlatform().name("dataloader-", 0).factory());
+    }
+
+    @PreDestroy
+    void stopBatchExecutor() {
+        batchExecutor.shutdown();
+    }
 
+    // Runs ahead of SharedSubscriptionInterceptor, which swaps in its own registry for the subscriptions it shares
     @Bean
+    @Order(0)
     public WebGraphQlInterceptor dataLoaderInterceptor() {
         return new WebGraphQlInterceptor() {
             @Override
             public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
                 log.debug("=== WebGraphQlInterceptor invoked ===");
 
-                DataLoaderRegistry registry = new DataLoaderRegistry();
+                // New registry per request: loader caches never outlive the request (for a subscription,
+                // which lives much longer, they are also cleared per event, see subscriptionEventLoaderReset)
+                DataLoaderRegistry registry = newRegistry();
 
-                DataLoader<Long, List<Book>> booksLoader = DataLoaderFactory.newDataLoader(
-                        authorIds -> CompletableFuture.supplyAsync(() -> {
-                            log.debug(">>> BatchLoader executing for IDs: " + authorIds);
+                request.configureExecutionInput((executionInput, builder) ->
+                        builder.dataLoaderRegistry(registry).build()
+                );
 
-                            List<Book> books = bookRepository.findAllByAuthorIds(authorIds);
+                return chain.next(request).map(response -> withStatistics(response, registry));
+            }
+        };
+    }
+
+    /**
+     * A fresh registry with the {@link #BOOKS_BY_AUTHOR_IDS} and {@link #AUTHOR_BY_ID} loaders
+     */
+    public DataLoaderRegistry newRegistry() {
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        DataLoaderOptions options = DataLoaderOptions.newOptions()
+                .setStatisticsCollector(SimpleStatisticsCollector::new)
+                .setMaxBatchSize(graphQLProperties.getDataLoader().getMaxBatchSize());
 
-                            Map<Long, List<Book>> grouped = books.stream()
-                                    .collect(Collectors.groupingBy(b -> b.getAuthor().getId()));
+        DataLoader<Long, List<Book>> booksLoader = DataLoaderFactory.newDataLoader(
+                authorIds -> {
+                    log.debug(">>> BatchLoader executing for {} IDs", authorIds.size());
 
-                            return authorIds.stream()
+                    return loadInChunks(authorIds, chunk -> bookRepository.findAllByAuthorIds(chunk).stream()
+                            .collect(Collectors.groupingBy(Book::getAuthorId)))
+                            .thenApply(grouped -> authorIds.stream()
                                     .map(id -> grouped.getOrDefault(id, Collections.emptyList()))
-                                    .collect(Collectors.toList());
-                        })
-                );
+                                    .collect(Collectors.toList()));
+                },
+                options
+        );
 
-                registry.register("booksByAuthorIds", booksLoader);
-                log.debug(">>> Registered booksByAuthorIds in interceptor");
+        // Mapped loader: ids without a row simply resolve to null
+        DataLoader<Long, Author> authorLoader = DataLoaderFactory.newMappedDataLoader(
+                authorIds -> {
+                    log.debug(">>> authorById executing for {} IDs", authorIds.size());
 
-                request.configureExecutionInput((executionInput, builder) ->
-                        builder.dataLoaderRegistry(registry).build()
-                );
+                    return loadInChunks(authorIds, this::findAuthors);
+                },
+                options
+        );
+
+        registry.register(BOOKS_BY_AUTHOR_IDS, booksLoader);
+        registry.register(AUTHOR_BY_ID, authorLoader);
+        log.debug(">>> Registered {} and {}", BOOKS_BY_AUTHOR_IDS, AUTHOR_BY_ID);
+        return registry;
+    }
 
-                return chain.next(request);
+    /**
+     * A subscription keeps its request's registry for as long as it runs, so cached authors and books would go
+     * stale and pile up across events; each event starts with empty loader caches instead. Batching within an event
+     * is unaffected.
+     */
+    @Bean
+    public Instrumentation subscriptionEventLoaderReset() {
+        return new SimplePerformantInstrumentation() {
+            @Override
+            public InstrumentationContext<ExecutionResult> beginSubscribedFieldEvent(
+                    InstrumentationFieldParameters parameters, InstrumentationState state) {
+                parameters.getExecutionContext().getDataLoaderRegistry().getDataLoaders().forEach(DataLoader::clearAll);
+                return super.beginSubscribedFieldEvent(parameters, state);
             }
         };
     }
+
+    /**
+     * Authors by id, second-level cache first: unlike findAllById, whose JPQL IN query always hits the database,
+     * multiLoad only queries the ids the cache does not hold. Ids without a row come back as null and are dropped.
+     */
+    private Map<Long, Author> findAuthors(List<Long> ids) {
+        try (Session session = entityManagerFactory.unwrap(SessionFactory.class).openSession()) {
+            return session.byMultipleIds(Author.class).multiLoad(ids).stream()
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toMap(Author::getId, Function.identity()));
+        }
+    }
+
+    /**
+     * Run {@code query} over the keys in IN-list sized chunks, in parallel on the batch executor,
+     * and merge the per-chunk results. Each key lands in exactly one chunk, so the maps never collide.
+     */
+    private <K, V> CompletableFuture<Map<K, V>> loadInChunks(Collection<K> keys, Function<List<K>, Map<K, V>> query) {
+        List<K> keyList = List.copyOf(keys);
+        List<CompletableFuture<Map<K, V>>> chunks = new ArrayList<>();
+        for (int from = 0; from < keyList.size(); from += MAX_IN_LIST) {
+            List<K> chunk = keyList.subList(from, Math.min(from + MAX_IN_LIST, keyList.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> query.apply(chunk), batchExecutor));
+        }
+        if (chunks.size() == 1) {
+            return chunks.get(0);
+        }
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<K, V> merged = new HashMap<>();
+                    chunks.forEach(chunk -> merged.putAll(chunk.join()));
+                    return merged;
+                });
+    }
+
+    private WebGraphQlResponse withStatistics(WebGraphQlResponse response, DataLoaderRegistry registry) {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        for (String name : registry.getKeys()) {
+            Statistics loaderStatistics = registry.getDataLoader(name).getStatistics();
+            if (loaderStatistics.getLoadCount() > 0) {
+                statistics.put(name, loaderStatistics.toMap());
+            }
+        }
+        if (statistics.isEmpty()) {
+            return response;
+        }
+        log.debug("DataLoader statistics: {}", statistics);
+
+        if (!graphQLProperties.getDataLoader().isExposeStatistics()) {
+            return response;
+        }
+        return response.transform(builder -> {
+            Map<Object, Object> extensions = new LinkedHashMap<>(response.getExtensions());
+            extensions.put("dataLoader", statistics);
+            builder.extensions(extensions);
+        });
+    }
 }
@@ -0,0 +1,102 @@
+package com.asset.demo.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Delivery of subscription events, bound from {@code app.events.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.events")
+public class EventProperties {
+
+    /**
+     * Events buffered per subscriber while it is not requesting; what happens beyond is the overflow policy
+     */
+    private int subscriberBufferSize = 256;
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+    /**
+     * How long a publisher retries when another thread is emitting on the same sink
+     */
+    private Duration emitRetryTimeout = Duration.ofMillis(100);
+
+    /**
+     * Committed changes are held this long so several changes to one entity go out as one event
+     */
+    private Duration coalesceWindow = Duration.ofMillis(50);
+
+    /**
+     * Pending entities that trigger a flush before the window ends
+     */
+    private int maxBatchSize = 512;
+
+    /**
+     * Published events kept for resuming subscriptions; older gaps require a full resync
+     */
+    private int replayCapacity = 10_000;
+
+    /**
+     * Transport that carries flushed batches to every instance
+     */
+    private Bus bus = Bus.LOCAL;
+
+    private Jdbc jdbc = new Jdbc();
+
+    public enum Bus {
+        /**
+         * In-process only; a single instance
+         */
+        LOCAL,
+        /**
+         * Shared change table in the application database, polled by every instance
+         */
+        JDBC
+    }
+
+    @Data
+    public static class Jdbc {
+        /**
+         * How often each instance polls the change table
+         */
+        private Duration pollInterval = Duration.ofMillis(100);
+
+        /**
+         * How long, on the database clock, batches after a missing id wait for it to commit before it is skipped
+         */
+        private Duration commitSettle = Duration.ofMillis(200);
+
+        /**
+         * How long a skipped id is still checked for, in case its batch commits after all
+         */
+        private Duration skippedWatch = Duration.ofMinutes(1);
+
+        /**
+         * Batches read per poll
+         */
+        private int pollBatchSize = 100;
+
+        /**
+         * Batches older than this are deleted
+         */
+        private Duration retention = Duration.ofHours(1);
+    }
+
+    public enum OverflowPolicy {
+        /**
+         * Discard the oldest buffered event
+         */
+        DROP_OLDEST,
+        /**
+         * Keep only the latest event per entity id; drop the oldest entity when still full
+         */
+        CONFLATE,
+        /**
+         * Terminate the subscription with an overflow error
+         */
+        DISCONNECT
+    }
+}
@@ -1,8 +1,18 @@
 package com.asset.demo.configs;
 
+import com.asset.demo.events.EventDelivery;
+import com.asset.demo.graphql.CardinalityEstimates;
+import com.asset.demo.graphql.PersistedQueryDocumentProvider;
+import com.asset.demo.graphql.PersistedQueryRequestFilter;
+import com.asset.demo.graphql.QueryCostInstrumentation;
+import com.asset.demo.graphql.SharedSubscriptionInterceptor;
+import com.asset.demo.repositories.AuthorRepository;
+import com.asset.demo.repositories.BookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import graphql.analysis.MaxQueryDepthInstrumentation;
-import graphql.analysis.MaxQueryComplexityInstrumentation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,6 +20,43 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class GraphQLConfig {
 
+    private final GraphQLProperties graphQLProperties;
+
+    /**
+     * Persisted queries + parsed/validated document cache
+     */
+    @Bean
+    public PersistedQueryDocumentProvider persistedQueryDocumentProvider() {
+        return new PersistedQueryDocumentProvider(graphQLProperties.getPersistedQueries().getCapacity());
+    }
+
+    @Bean
+    public GraphQlSourceBuilderCustomizer persistedQueryCustomizer(PersistedQueryDocumentProvider documentProvider) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(documentProvider));
+    }
+
+    /**
+     * Lets hash-only persisted query requests past the HTTP transport's required-query check
+     */
+    @Bean
+    public FilterRegistrationBean<PersistedQueryRequestFilter> persistedQueryRequestFilter(ObjectMapper objectMapper) {
+        FilterRegistrationBean<PersistedQueryRequestFilter> registration =
+                new FilterRegistrationBean<>(new PersistedQueryRequestFilter(objectMapper,
+                        graphQLProperties.getPersistedQueries().getMaxBodySize().toBytes()));
+        registration.addUrlPatterns("/graphql");
+        return registration;
+    }
+
+    /**
+     * Identical subscriptions share one execution and one JSON encoding per event
+     */
+    @Bean
+    public SharedSubscriptionInterceptor sharedSubscriptionInterceptor(ObjectMapper objectMapper,
+                                                                       EventDelivery eventDelivery,
+                                                                       DataLoaderConfig dataLoaderConfig) {
+        return new SharedSubscriptionInterceptor(objectMapper, eventDelivery, dataLoaderConfig::newRegistry);
+    }
+
     /**
      * Limit query depth to prevent deeply nested queries
      * Example: book { author { books { author { books { ... }}}}}
@@ -20,10 +67,15 @@ public class GraphQLConfig {
     }
 
     /**
-     * Limit query complexity to prevent expensive queries
+     * Limit query cost: list fields are weighted by their estimated size, see {@link QueryCostInstrumentation}
      */
     @Bean
-    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation() {
-        return new MaxQueryComplexityInstrumentation(100); // Max complexity score
+    public QueryCostInstrumentation queryCostInstrumentation(BookRepository bookRepository,
+                                                             AuthorRepository authorRepository,
+                                                             PaginationProperties paginationProperties) {
+        GraphQLProperties.Cost cost = graphQLProperties.getCost();
+        CardinalityEstimates estimates =
+                new CardinalityEstimates(bookRepository, authorRepository, cost.getStatisticsRefresh());
+        return new QueryCostInstrumentation(estimates, paginationProperties, cost);
     }
 }
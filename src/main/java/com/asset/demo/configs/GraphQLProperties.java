@@ -0,0 +1,83 @@
+package com.asset.demo.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Tunables of the GraphQL endpoint, bound from {@code app.graphql.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.graphql")
+public class GraphQLProperties {
+
+    private DataLoader dataLoader = new DataLoader();
+    private PersistedQueries persistedQueries = new PersistedQueries();
+    private Cost cost = new Cost();
+
+    @Data
+    public static class DataLoader {
+        /**
+         * Add per-request DataLoader statistics (batch sizes, cache hits) to the response extensions
+         */
+        private boolean exposeStatistics = false;
+
+        /**
+         * Keys per batch function call; larger dispatches are split into several calls. Kept at or
+         * below Oracle's 1000-element IN list limit by default
+         */
+        private int maxBatchSize = 1000;
+
+        private Executor executor = new Executor();
+    }
+
+    @Data
+    public static class Executor {
+        /**
+         * Run batch functions on virtual threads instead of the fixed pool
+         */
+        private boolean virtualThreads = false;
+
+        /**
+         * Threads of the fixed pool; each running batch holds a JDBC connection, so keep it below the connection pool size
+         */
+        private int poolSize = 8;
+    }
+
+    @Data
+    public static class PersistedQueries {
+        /**
+         * Parsed and validated documents kept in the LRU cache, keyed by SHA-256 hash or query text
+         */
+        private int capacity = 1000;
+
+        /**
+         * Largest request body without query text (a hash-only persisted query) that is read in full;
+         * larger ones are rejected with 413
+         */
+        private DataSize maxBodySize = DataSize.ofKilobytes(256);
+    }
+
+    @Data
+    public static class Cost {
+        /**
+         * Operations estimated above this cost are rejected before execution
+         */
+        private long maxCost = 20_000;
+
+        /**
+         * Operations above this cost (but within maxCost) share maxConcurrentExpensive execution slots,
+         * and are rejected as retryable when none is free
+         */
+        private long throttleCost = 2_000;
+
+        private int maxConcurrentExpensive = 2;
+
+        /**
+         * How often the table counts behind list-size estimates are refreshed
+         */
+        private Duration statisticsRefresh = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,43 @@
+package com.asset.demo.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Tunables of the gRPC services, bound from {@code app.grpc.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.grpc")
+public class GrpcProperties {
+
+    private Streaming streaming = new Streaming();
+    private Bulk bulk = new Bulk();
+
+    @Data
+    public static class Streaming {
+        /**
+         * Rows read from the database per keyset query while streaming
+         */
+        private int chunkSize = 100;
+    }
+
+    @Data
+    public static class Bulk {
+        /**
+         * Streamed create requests buffered and inserted per transaction
+         */
+        private int chunkSize = 500;
+
+        /**
+         * Micro-batch size of BulkCreateBooksStream; results are sent once per batch
+         */
+        private int pipelineBatchSize = 100;
+
+        /**
+         * Longest a partial BulkCreateBooksStream batch waits for more requests before it is inserted
+         */
+        private Duration pipelineLinger = Duration.ofMillis(20);
+    }
+}
@@ -0,0 +1,34 @@
+package com.asset.demo.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Server-side limits for paginated list endpoints, bound from {@code app.pagination.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.pagination")
+public class PaginationProperties {
+
+    /**
+     * Page size used when the client does not ask for one
+     */
+    private int defaultPageSize = 20;
+
+    /**
+     * Largest page a client may request; bigger requests are clamped
+     */
+    private int maxPageSize = 100;
+
+    /**
+     * Most IDs a batch get may ask for; bigger requests are rejected
+     */
+    private int maxBatchIds = 1000;
+
+    public int clamp(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
@@ -0,0 +1,80 @@
+package com.asset.demo.configs;
+
+import com.asset.demo.concurrency.ConcurrencyLimitFilter;
+import com.asset.demo.concurrency.ConcurrencyLimitServerInterceptor;
+import com.asset.demo.concurrency.ConcurrencyLimiter;
+import com.asset.demo.grpc.AuthorServiceGrpc;
+import com.asset.demo.grpc.BookServiceGrpc;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual-thread mode, switched on with {@code spring.threads.virtual.enabled=true}.
+ * Spring Boot itself moves Tomcat request handling and the application task executor (async GraphQL
+ * data fetchers) to virtual threads; this adds the gRPC server executor and the admission limit that
+ * keeps virtual threads from stampeding the connection pool. The DataLoader executor follows the
+ * same switch through {@code app.graphql.data-loader.executor.virtual-threads}.
+ */
+@RequiredArgsConstructor
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Log4j2
+public class VirtualThreadConfig {
+
+    private final ConcurrencyProperties concurrencyProperties;
+
+    // Not a bean: an Executor bean would switch off Boot's applicationTaskExecutor
+    private final ExecutorService grpcExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-", 0).factory());
+
+    @Bean
+    public GrpcServerConfigurer virtualThreadGrpcServerConfigurer() {
+        return serverBuilder -> serverBuilder.executor(grpcExecutor);
+    }
+
+    @PreDestroy
+    void stopGrpcExecutor() {
+        grpcExecutor.shutdown();
+    }
+
+    @Bean
+    public ConcurrencyLimiter concurrencyLimiter(DataSource dataSource) throws SQLException {
+        int maxInFlight = concurrencyProperties.getMaxInFlight();
+        if (maxInFlight <= 0) {
+            maxInFlight = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        }
+        log.info("Virtual threads enabled; admitting at most {} concurrent requests", maxInFlight);
+        return new ConcurrencyLimiter(maxInFlight, concurrencyProperties.getAcquireTimeout());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ConcurrencyLimiter limiter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limiter));
+        registration.addUrlPatterns("/api/rest/*", "/graphql");
+        return registration;
+    }
+
+    @Bean
+    @GrpcGlobalServerInterceptor
+    public ConcurrencyLimitServerInterceptor concurrencyLimitServerInterceptor(ConcurrencyLimiter limiter) {
+        return new ConcurrencyLimitServerInterceptor(limiter, Set.of(
+                BookServiceGrpc.getWatchBooksMethod().getFullMethodName(),
+                AuthorServiceGrpc.getWatchAuthorsMethod().getFullMethodName()));
+    }
+}
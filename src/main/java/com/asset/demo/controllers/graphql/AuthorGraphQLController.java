@@ -1,24 +1,42 @@
 package com.asset.demo.controllers.graphql;
 
+import com.asset.demo.configs.DataLoaderConfig;
+import com.asset.demo.configs.PaginationProperties;
+import com.asset.demo.dtos.AuthorChange;
+import com.asset.demo.dtos.AuthorConnection;
+import com.asset.demo.dtos.AuthorEdge;
 import com.asset.demo.dtos.AuthorPage;
+import com.asset.demo.dtos.ChangeType;
 import com.asset.demo.dtos.CreateAuthorDto;
+import com.asset.demo.dtos.CursorPageInfo;
 import com.asset.demo.dtos.PageInfo;
 import com.asset.demo.entities.Author;
 import com.asset.demo.entities.Book;
 import com.asset.demo.repositories.AuthorRepository;
 import com.asset.demo.events.AuthorEventPublisher;
+import com.asset.demo.events.AuthorSnapshot;
+import com.asset.demo.events.EventReplayLog;
+import com.asset.demo.graphql.SelectedFields;
+import com.asset.demo.pagination.KeysetCursor;
+import com.asset.demo.pagination.KeysetPage;
 import com.asset.demo.repositories.BookRepository;
+import com.asset.demo.repositories.ProjectionRepository;
+import graphql.GraphqlErrorException;
 import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import lombok.RequiredArgsConstructor;
 import org.dataloader.DataLoader;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.graphql.execution.ErrorType;
 import org.springframework.stereotype.Controller;
 import reactor.core.publisher.Flux;
 
@@ -32,10 +50,14 @@ public class AuthorGraphQLController {
     private final AuthorRepository authorRepository;
     private final BookRepository bookRepository;
     private final AuthorEventPublisher authorEventPublisher;
+    private final EventReplayLog eventReplayLog;
+    private final PaginationProperties paginationProperties;
+    private final ProjectionRepository projectionRepository;
 
     @QueryMapping
-    public List<Author> allAuthors() {
-        return authorRepository.findAll();
+    public List<Author> allAuthors(DataFetchingFieldSelectionSet selectionSet) {
+        // Only the selected columns; books are resolved through the DataLoader
+        return projectionRepository.findAuthors(SelectedFields.at(selectionSet, ""), null, Pageable.unpaged());
     }
 
     @QueryMapping
@@ -55,12 +77,7 @@ public class AuthorGraphQLController {
                 .email(createAuthorDto.getEmail())
                 .bio(createAuthorDto.getBio())
                 .build();
-        Author savedAuthor = authorRepository.save(author);
-
-        // 📢 Publish event for subscriptions
-        authorEventPublisher.publishAuthorCreated(savedAuthor);
-
-        return savedAuthor;
+        return authorRepository.save(author);
     }
 
     @MutationMapping
@@ -70,12 +87,7 @@ public class AuthorGraphQLController {
                     if (createAuthorDto.getName() != null) author.setName(createAuthorDto.getName());
                     if (createAuthorDto.getEmail() != null) author.setEmail(createAuthorDto.getEmail());
                     if (createAuthorDto.getBio() != null) author.setBio(createAuthorDto.getBio());
-                    Author saved = authorRepository.save(author);
-
-                    // 📢 Publish event for subscriptions
-                    authorEventPublisher.publishAuthorUpdated(saved);
-
-                    return saved;
+                    return authorRepository.save(author);
                 })
                 .orElse(null);
     }
@@ -90,9 +102,11 @@ public class AuthorGraphQLController {
     }
 
     @QueryMapping
-    public AuthorPage authorsPaginated(@Argument int page, @Argument int size) {
+    public AuthorPage authorsPaginated(@Argument int page, @Argument int size, DataFetchingFieldSelectionSet selectionSet) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Author> authorPage = authorRepository.findAll(pageable);
+        List<Author> rows = projectionRepository.findAuthors(SelectedFields.at(selectionSet, "content"), null, pageable);
+        // Count query only when the page is full or not the first one
+        Page<Author> authorPage = PageableExecutionUtils.getPage(rows, pageable, authorRepository::count);
 
         List<Author> authors = authorPage.getContent();
 
@@ -111,6 +125,52 @@ public class AuthorGraphQLController {
                 .build();
     }
 
+    @QueryMapping
+    public AuthorConnection authorsConnection(@Argument Integer first, @Argument String after,
+                                              DataFetchingFieldSelectionSet selectionSet) {
+        int limit = paginationProperties.clamp(first);
+        long afterId;
+        try {
+            afterId = KeysetCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw GraphqlErrorException.newErrorException()
+                    .message(e.getMessage())
+                    .errorClassification(ErrorType.BAD_REQUEST)
+                    .build();
+        }
+
+        Specification<Author> afterCursor = (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+        KeysetPage<Author> page = KeysetPage.of(projectionRepository.findAuthors(
+                SelectedFields.at(selectionSet, "edges/node"), afterCursor, KeysetPage.fetch(limit)), limit, Author::getId);
+
+        List<AuthorEdge> edges = page.items().stream()
+                .map(author -> AuthorEdge.builder()
+                        .cursor(KeysetCursor.encode(author.getId()))
+                        .node(author)
+                        .build())
+                .toList();
+
+        CursorPageInfo pageInfo = CursorPageInfo.builder()
+                .hasNextPage(page.hasNext())
+                .hasPreviousPage(after != null && !after.isEmpty())
+                .startCursor(edges.isEmpty() ? null : edges.get(0).getCursor())
+                .endCursor(edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor())
+                .build();
+
+        return AuthorConnection.builder()
+                .edges(edges)
+                .pageInfo(pageInfo)
+                .build();
+    }
+
+    /**
+     * Resolved only when the client selects totalElements, so plain page fetches skip the count query
+     */
+    @SchemaMapping(typeName = "AuthorConnection", field = "totalElements")
+    public long totalElements(AuthorConnection connection) {
+        return authorRepository.count();
+    }
+
     /**
      * N+1 problem solution without DataLoader
      *
@@ -131,13 +191,16 @@ public class AuthorGraphQLController {
      */
     @SchemaMapping(typeName = "Author", field = "books")
     public CompletableFuture<List<Book>> books(
-            Author author,
+            Object source,
             DataFetchingEnvironment env) {
 
+        // Source is an entity for queries, an immutable snapshot for subscription payloads
+        Long authorId = source instanceof AuthorSnapshot snapshot ? snapshot.id() : ((Author) source).getId();
+
         DataLoader<Long, List<Book>> booksLoader =
-                env.getDataLoader("booksByAuthorIds");
+                env.getDataLoader(DataLoaderConfig.BOOKS_BY_AUTHOR_IDS);
 
-        return booksLoader.load(author.getId());
+        return booksLoader.load(authorId);
     }
 
     /**
@@ -145,7 +208,7 @@ public class AuthorGraphQLController {
      * Usage: subscription { authorCreated { id name } }
      */
     @SubscriptionMapping
-    public Flux<Author> authorCreatedSubscription() {
+    public Flux<AuthorSnapshot> authorCreatedSubscription() {
         return authorEventPublisher.getAuthorCreatedFlux();
     }
 
@@ -154,8 +217,26 @@ public class AuthorGraphQLController {
      * Usage: subscription { authorUpdated { id name } }
      */
     @SubscriptionMapping
-    public Flux<Author> authorUpdatedSubscription() {
+    public Flux<AuthorSnapshot> authorUpdatedSubscription() {
         return authorEventPublisher.getAuthorUpdatedFlux();
     }
 
+    /**
+     * Resumable feed of all author changes
+     * Usage: subscription { authorChanges(since: "1712345678901234") { sequence type id author { name } } }
+     */
+    @SubscriptionMapping
+    public Flux<AuthorChange> authorChanges(@Argument Long since) {
+        return eventReplayLog.resume(authorEventPublisher.getChangeFlux(), since, "Author",
+                event -> AuthorChange.builder()
+                        .sequence(event.getSequence())
+                        .type(ChangeType.of(event.getType()))
+                        .id(event.getId())
+                        .author((AuthorSnapshot) event.getPayload())
+                        .build(),
+                sequence -> AuthorChange.builder()
+                        .sequence(sequence)
+                        .type(ChangeType.RESYNC)
+                        .build());
+    }
 }
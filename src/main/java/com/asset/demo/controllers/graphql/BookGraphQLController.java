@@ -1,27 +1,54 @@
 package com.asset.demo.controllers.graphql;
 
+import com.asset.demo.configs.DataLoaderConfig;
+import com.asset.demo.configs.PaginationProperties;
+import com.asset.demo.dtos.BookChange;
+import com.asset.demo.dtos.BookConnection;
+import com.asset.demo.dtos.BookEdge;
 import com.asset.demo.dtos.BookPage;
+import com.asset.demo.dtos.ChangeType;
 import com.asset.demo.dtos.CreateBookDto;
+import com.asset.demo.dtos.CursorPageInfo;
 import com.asset.demo.dtos.PageInfo;
 import com.asset.demo.dtos.UpdateBookDto;
 import com.asset.demo.entities.Author;
 import com.asset.demo.entities.Book;
 import com.asset.demo.repositories.AuthorRepository;
 import com.asset.demo.repositories.BookRepository;
+import com.asset.demo.repositories.DuplicateKeys;
+import com.asset.demo.repositories.ProjectionRepository;
 import com.asset.demo.events.BookEventPublisher;
+import com.asset.demo.events.BookSnapshot;
+import com.asset.demo.events.BookSubscriptionRouter;
+import com.asset.demo.events.EventReplayLog;
+import com.asset.demo.graphql.SelectedFields;
+import com.asset.demo.pagination.KeysetCursor;
+import com.asset.demo.pagination.KeysetPage;
+import com.asset.demo.services.BatchGetService;
+import com.asset.demo.services.BookBatchWriter;
+import graphql.GraphqlErrorException;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import lombok.RequiredArgsConstructor;
+import org.dataloader.DataLoader;
+import org.hibernate.Hibernate;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.graphql.execution.ErrorType;
 import org.springframework.stereotype.Controller;
 import reactor.core.publisher.Flux;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RequiredArgsConstructor
 @Controller
@@ -30,25 +57,54 @@ public class BookGraphQLController {
     private final BookRepository bookRepository;
     private final AuthorRepository authorRepository;
     private final BookEventPublisher bookEventPublisher;
+    private final BookSubscriptionRouter bookSubscriptionRouter;
+    private final EventReplayLog eventReplayLog;
+    private final BatchGetService batchGetService;
+    private final PaginationProperties paginationProperties;
+    private final ProjectionRepository projectionRepository;
 
     @QueryMapping
-    public List<Book> allBooks() {
-        return bookRepository.findAll();
+    public List<Book> allBooks(DataFetchingFieldSelectionSet selectionSet) {
+        // Only the selected columns; authors are joined only when the client asked for them
+        return projectionRepository.findBooks(
+                SelectedFields.at(selectionSet, ""), SelectedFields.at(selectionSet, "author"),
+                null, Pageable.unpaged());
     }
 
     @QueryMapping
     public Book book(@Argument Long id) {
+        // By-id lookups stay on findById so the book comes from the second-level cache; a selected author
+        // goes through the authorById loader, which checks that cache too
         return bookRepository.findById(id).orElse(null);
     }
 
+    /**
+     * One entry per requested id, in request order; null where no book exists.
+     * The schema types the ids as {@code [ID!]!}, so null ids are rejected during validation
+     */
+    @QueryMapping
+    public List<Book> booksByIds(@Argument List<Long> ids) {
+        if (ids.size() > paginationProperties.getMaxBatchIds()) {
+            throw GraphqlErrorException.newErrorException()
+                    .message("At most " + paginationProperties.getMaxBatchIds() + " ids per request")
+                    .errorClassification(ErrorType.BAD_REQUEST)
+                    .build();
+        }
+        return batchGetService.booksByIds(ids);
+    }
+
     @QueryMapping
     public List<Book> booksByAuthor(@Argument Long authorId) {
+        // Served from the query cache and second-level cache, which beats any projection
         return bookRepository.findByAuthorId(authorId);
     }
 
     @QueryMapping
-    public List<Book> booksByAuthorName(@Argument String authorName) {
-        return bookRepository.findByAuthorName(authorName);
+    public List<Book> booksByAuthorName(@Argument String authorName, DataFetchingFieldSelectionSet selectionSet) {
+        Specification<Book> byAuthorName = (root, query, cb) -> cb.equal(root.get("author").get("name"), authorName);
+        return projectionRepository.findBooks(
+                SelectedFields.at(selectionSet, ""), SelectedFields.at(selectionSet, "author"),
+                byAuthorName, Pageable.unpaged());
     }
 
     @MutationMapping
@@ -61,12 +117,7 @@ public class BookGraphQLController {
                             .price(createBookDto.getPrice())
                             .author(author)
                             .build();
-                    Book savedBook = bookRepository.save(book);
-
-                    // 📢 Publish event for subscriptions
-                    bookEventPublisher.publishBookCreated(savedBook);
-
-                    return savedBook;
+                    return save(book);
                 })
                 .orElse(null);
     }
@@ -81,28 +132,42 @@ public class BookGraphQLController {
                     if (updateBookDto.getAuthorId() != null) {
                         authorRepository.findById(updateBookDto.getAuthorId()).ifPresent(book::setAuthor);
                     }
-                    Book saved = bookRepository.save(book);                    // 📢 Publish event for subscriptions
-                    bookEventPublisher.publishBookUpdated(saved);
-                    return saved;
+                    return save(book);
                 })
                 .orElse(null);
     }
 
+    private Book save(Book book) {
+        try {
+            return bookRepository.save(book);
+        } catch (DataIntegrityViolationException e) {
+            if (DuplicateKeys.isDuplicateKey(e)) {
+                throw GraphqlErrorException.newErrorException()
+                        .message(BookBatchWriter.ISBN_EXISTS)
+                        .errorClassification(ErrorType.BAD_REQUEST)
+                        .build();
+            }
+            throw e;
+        }
+    }
+
     @MutationMapping
     public Boolean deleteBook(@Argument Long id) {
         if (bookRepository.existsById(id)) {
             bookRepository.deleteById(id);
-            // 📢 Publish event for subscriptions
-            bookEventPublisher.publishBookDeleted(id);
             return true;
         }
         return false;
     }
 
     @QueryMapping
-    public BookPage booksPaginated(@Argument int page, @Argument int size) {
+    public BookPage booksPaginated(@Argument int page, @Argument int size, DataFetchingFieldSelectionSet selectionSet) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Book> bookPage = bookRepository.findAll(pageable);
+        List<Book> rows = projectionRepository.findBooks(
+                SelectedFields.at(selectionSet, "content"), SelectedFields.at(selectionSet, "content/author"),
+                null, pageable);
+        // Count query only when the page is full or not the first one
+        Page<Book> bookPage = PageableExecutionUtils.getPage(rows, pageable, bookRepository::count);
 
         List<Book> books = bookPage.getContent();
 
@@ -121,9 +186,74 @@ public class BookGraphQLController {
                 .build();
     }
 
+    @QueryMapping
+    public BookConnection booksConnection(@Argument Integer first, @Argument String after,
+                                          DataFetchingFieldSelectionSet selectionSet) {
+        int limit = paginationProperties.clamp(first);
+        long afterId;
+        try {
+            afterId = KeysetCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw GraphqlErrorException.newErrorException()
+                    .message(e.getMessage())
+                    .errorClassification(ErrorType.BAD_REQUEST)
+                    .build();
+        }
+
+        Specification<Book> afterCursor = (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+        KeysetPage<Book> page = KeysetPage.of(projectionRepository.findBooks(
+                SelectedFields.at(selectionSet, "edges/node"), SelectedFields.at(selectionSet, "edges/node/author"),
+                afterCursor, KeysetPage.fetch(limit)), limit, Book::getId);
+
+        List<BookEdge> edges = page.items().stream()
+                .map(book -> BookEdge.builder()
+                        .cursor(KeysetCursor.encode(book.getId()))
+                        .node(book)
+                        .build())
+                .toList();
+
+        CursorPageInfo pageInfo = CursorPageInfo.builder()
+                .hasNextPage(page.hasNext())
+                .hasPreviousPage(after != null && !after.isEmpty())
+                .startCursor(edges.isEmpty() ? null : edges.get(0).getCursor())
+                .endCursor(edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor())
+                .build();
+
+        return BookConnection.builder()
+                .edges(edges)
+                .pageInfo(pageInfo)
+                .build();
+    }
+
+    /**
+     * Resolved only when the client selects totalElements, so plain page fetches skip the count query
+     */
+    @SchemaMapping(typeName = "BookConnection", field = "totalElements")
+    public long totalElements(BookConnection connection) {
+        return bookRepository.count();
+    }
+
     @SchemaMapping(typeName = "Book", field = "author")
-    public Author author(Book book) {
-        return book.getAuthor();
+    public CompletableFuture<Object> author(Object source, DataFetchingEnvironment env) {
+        Long authorId;
+        if (source instanceof BookSnapshot snapshot) {
+            // Event payload: the author captured at publish time, if it was loaded then
+            if (snapshot.author() != null || snapshot.authorId() == null) {
+                return CompletableFuture.completedFuture(snapshot.author());
+            }
+            authorId = snapshot.authorId();
+        } else {
+            Book book = (Book) source;
+            Author author = book.getAuthor();
+            if (author == null || Hibernate.isInitialized(author)) {
+                return CompletableFuture.completedFuture(author);
+            }
+            authorId = book.getAuthorId();
+        }
+        // Parent query did not join the author (e.g. event payloads, books from the DataLoader):
+        // batch with every other unresolved author of this request into one IN query
+        DataLoader<Long, Author> authorLoader = env.getDataLoader(DataLoaderConfig.AUTHOR_BY_ID);
+        return authorLoader.load(authorId).thenApply(Object.class::cast);
     }
 
     /**
@@ -131,7 +261,7 @@ public class BookGraphQLController {
      * Usage: subscription { bookCreated { id title price } }
      */
     @SubscriptionMapping
-    public Flux<Book> bookCreatedSubscription() {
+    public Flux<BookSnapshot> bookCreatedSubscription() {
         return bookEventPublisher.getBookCreatedFlux();
     }
 
@@ -140,7 +270,7 @@ public class BookGraphQLController {
      * Usage: subscription { bookUpdated { id title price } }
      */
     @SubscriptionMapping
-    public Flux<Book> bookUpdatedSubscription() {
+    public Flux<BookSnapshot> bookUpdatedSubscription() {
         return bookEventPublisher.getBookUpdatedFlux();
     }
 
@@ -158,9 +288,8 @@ public class BookGraphQLController {
      * Usage: subscription { bookById(id: 1) { id title price } }
      */
     @SubscriptionMapping
-    public Flux<Book> bookByIdSubscription(@Argument Long id) {
-        return bookEventPublisher.getBookUpdatedFlux()
-                .filter(book -> book.getId().equals(id));
+    public Flux<BookSnapshot> bookByIdSubscription(@Argument Long id) {
+        return bookSubscriptionRouter.bookUpdates(id);
     }
 
     /**
@@ -168,10 +297,8 @@ public class BookGraphQLController {
      * Usage: subscription { booksByAuthor(authorId: 1) { id title } }
      */
     @SubscriptionMapping
-    public Flux<Book> booksByAuthorSubscription(@Argument Long authorId) {
-        return bookEventPublisher.getBookCreatedFlux()
-                .filter(book -> book.getAuthor() != null &&
-                                book.getAuthor().getId().equals(authorId));
+    public Flux<BookSnapshot> booksByAuthorSubscription(@Argument Long authorId) {
+        return bookSubscriptionRouter.booksCreatedByAuthor(authorId);
     }
 
     /**
@@ -179,9 +306,8 @@ public class BookGraphQLController {
      * Usage: subscription { priceChanges(minPrice: 20.0) { id title price } }
      */
     @SubscriptionMapping
-    public Flux<Book> priceChangesSubscription(@Argument Double minPrice) {
-        return bookEventPublisher.getBookUpdatedFlux()
-                .filter(book -> book.getPrice() >= minPrice);
+    public Flux<BookSnapshot> priceChangesSubscription(@Argument Double minPrice) {
+        return bookSubscriptionRouter.priceChanges(minPrice);
     }
 
     /**
@@ -189,10 +315,29 @@ public class BookGraphQLController {
      * Usage: subscription { bookEvents { id title price } }
      */
     @SubscriptionMapping
-    public Flux<Book> bookEventsSubscription() {
+    public Flux<BookSnapshot> bookEventsSubscription() {
         return Flux.merge(
                 bookEventPublisher.getBookCreatedFlux(),
                 bookEventPublisher.getBookUpdatedFlux()
         );
     }
+
+    /**
+     * Resumable feed of all book changes
+     * Usage: subscription { bookChanges(since: "1712345678901234") { sequence type id book { title } } }
+     */
+    @SubscriptionMapping
+    public Flux<BookChange> bookChanges(@Argument Long since) {
+        return eventReplayLog.resume(bookEventPublisher.getChangeFlux(), since, "Book",
+                event -> BookChange.builder()
+                        .sequence(event.getSequence())
+                        .type(ChangeType.of(event.getType()))
+                        .id(event.getId())
+                        .book((BookSnapshot) event.getPayload())
+                        .build(),
+                sequence -> BookChange.builder()
+                        .sequence(sequence)
+                        .type(ChangeType.RESYNC)
+                        .build());
+    }
 }
@@ -1,7 +1,10 @@
 package com.asset.demo.controllers.rest;
 
+import com.asset.demo.configs.PaginationProperties;
 import com.asset.demo.entities.Author;
 import com.asset.demo.entities.Book;
+import com.asset.demo.pagination.KeysetCursor;
+import com.asset.demo.pagination.KeysetPage;
 import com.asset.demo.repositories.AuthorRepository;
 import com.asset.demo.repositories.BookRepository;
 import io.swagger.v3.oas.annotations.Operation;
@@ -30,20 +33,38 @@ public class AuthorRestController {
 
     private final AuthorRepository authorRepository;
     private final BookRepository bookRepository;
+    private final PaginationProperties paginationProperties;
 
-
-    // GET /api/rest/authors - Get all authors
+    // GET /api/rest/authors?limit=20&cursor=... - Get authors page by page
     @Operation(
             summary = "Get all authors",
-            description = "Retrieve a list of all authors in the system"
+            description = "Retrieve authors one page at a time. Pass the X-Next-Cursor response header " +
+                    "as cursor to get the next page; it is absent on the last page"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping
-    public List<Author> getAllAuthors() {
-        return authorRepository.findAll();
+    public ResponseEntity<List<Author>> getAllAuthors(@RequestParam(required = false) Integer limit,
+                                                      @RequestParam(required = false) String cursor) {
+        long afterId;
+        try {
+            afterId = KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = paginationProperties.clamp(limit);
+
+        KeysetPage<Author> page = KeysetPage.of(
+                authorRepository.findPageAfter(afterId, KeysetPage.fetch(pageSize)), pageSize, Author::getId);
+        if (!page.hasNext()) {
+            return ResponseEntity.ok(page.items());
+        }
+        return ResponseEntity.ok()
+                .header(KeysetCursor.NEXT_CURSOR_HEADER, page.nextCursor())
+                .body(page.items());
     }
 
     // GET /api/rest/authors/1 - Get author by ID
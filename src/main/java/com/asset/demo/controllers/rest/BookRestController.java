@@ -1,19 +1,32 @@
 package com.asset.demo.controllers.rest;
 
+import com.asset.demo.configs.PaginationProperties;
+import com.asset.demo.dtos.BookLookupDto;
 import com.asset.demo.dtos.CreateBookDto;
 import com.asset.demo.dtos.UpdateBookDto;
 import com.asset.demo.entities.Author;
 import com.asset.demo.entities.Book;
 import com.asset.demo.grpc.CreateBookRequest;
+import com.asset.demo.pagination.KeysetCursor;
+import com.asset.demo.pagination.KeysetPage;
 import com.asset.demo.repositories.AuthorRepository;
 import com.asset.demo.repositories.BookRepository;
+import com.asset.demo.repositories.DuplicateKeys;
+import com.asset.demo.services.BatchGetService;
+import com.asset.demo.services.BookExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @RequiredArgsConstructor
 @RestController
@@ -22,11 +35,69 @@ public class BookRestController {
 
     private final BookRepository bookRepository;
     private final AuthorRepository authorRepository;
+    private final PaginationProperties paginationProperties;
+    private final BookExportService bookExportService;
+    private final BatchGetService batchGetService;
 
-    @Operation(summary = "Get all books", description = "Retrieve a list of all books")
+    @Operation(summary = "Get all books", description = "Retrieve books one page at a time. " +
+            "Pass the X-Next-Cursor response header as cursor to get the next page; it is absent on the last page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
     @GetMapping
-    public List<Book> getAllBooks() {
-        return bookRepository.findAll();
+    public ResponseEntity<List<Book>> getAllBooks(@RequestParam(required = false) Integer limit,
+                                                  @RequestParam(required = false) String cursor) {
+        long afterId;
+        try {
+            afterId = KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = paginationProperties.clamp(limit);
+
+        KeysetPage<Book> page = KeysetPage.of(
+                bookRepository.findPageAfter(afterId, KeysetPage.fetch(pageSize)), pageSize, Book::getId);
+        if (!page.hasNext()) {
+            return ResponseEntity.ok(page.items());
+        }
+        return ResponseEntity.ok()
+                .header(KeysetCursor.NEXT_CURSOR_HEADER, page.nextCursor())
+                .body(page.items());
+    }
+
+    // GET /api/rest/books?ids=3,1,2 - Get many books in one round trip
+    @Operation(summary = "Get books by IDs", description = "Retrieve the books with the given IDs in one call. " +
+            "Results follow the request order, one per ID, with found=false for IDs without a book")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Books retrieved"),
+            @ApiResponse(responseCode = "400", description = "Too many IDs, or an empty ID")
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<BookLookupDto>> getBooksByIds(@RequestParam List<Long> ids) {
+        // "ids=1,,2" binds an empty element as null
+        if (ids.size() > paginationProperties.getMaxBatchIds() || ids.stream().anyMatch(Objects::isNull)) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Book> books = batchGetService.booksByIds(ids);
+
+        List<BookLookupDto> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            results.add(BookLookupDto.builder()
+                    .id(ids.get(i))
+                    .found(books.get(i) != null)
+                    .book(books.get(i))
+                    .build());
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    @Operation(summary = "Export all books", description = "Stream the whole catalog as newline-delimited JSON, one book per line")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBooks() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(bookExportService::writeNdjson);
     }
 
     @Operation(summary = "Get book by ID", description = "Retrieve a single book by ID")
@@ -41,7 +112,8 @@ public class BookRestController {
     @Operation(summary = "Create new book", description = "Add a new book with author reference")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Book created successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid author ID")
+            @ApiResponse(responseCode = "400", description = "Invalid author ID"),
+            @ApiResponse(responseCode = "409", description = "ISBN already exists")
     })
     @PostMapping
     public ResponseEntity<Book> createBook(@RequestBody CreateBookDto request) {
@@ -53,12 +125,17 @@ public class BookRestController {
                             .price(request.getPrice())
                             .author(author)
                             .build();
-                    return ResponseEntity.ok(bookRepository.save(book));
+                    return saveOrConflict(book);
                 })
                 .orElse(ResponseEntity.badRequest().build());
     }
 
     @Operation(summary = "Update book", description = "Update an existing book")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Book updated successfully"),
+            @ApiResponse(responseCode = "404", description = "Book not found"),
+            @ApiResponse(responseCode = "409", description = "ISBN already exists")
+    })
     @PutMapping("/{id}")
     public ResponseEntity<?> updateBook(@PathVariable Long id, @RequestBody UpdateBookDto request) {
         return bookRepository.findById(id)
@@ -73,11 +150,22 @@ public class BookRestController {
                         book.setAuthor(author);
                     }
 
-                    return ResponseEntity.ok(bookRepository.save(book));
+                    return saveOrConflict(book);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    private ResponseEntity<Book> saveOrConflict(Book book) {
+        try {
+            return ResponseEntity.ok(bookRepository.save(book));
+        } catch (DataIntegrityViolationException e) {
+            if (DuplicateKeys.isDuplicateKey(e)) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+            throw e;
+        }
+    }
+
     @Operation(summary = "Delete book", description = "Delete a book by ID")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteBook(@PathVariable Long id) {
@@ -0,0 +1,127 @@
+package com.asset.demo.controllers.rest;
+
+import com.asset.demo.events.BookSubscriptionRouter;
+import com.asset.demo.events.EventCoalescer;
+import com.asset.demo.events.EventDelivery;
+import com.asset.demo.graphql.PersistedQueryDocumentProvider;
+import com.asset.demo.graphql.SharedSubscriptionInterceptor;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/rest/stats")
+public class StatsRestController {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final PersistedQueryDocumentProvider persistedQueryDocumentProvider;
+    private final BookSubscriptionRouter bookSubscriptionRouter;
+    private final EventDelivery eventDelivery;
+    private final EventCoalescer eventCoalescer;
+    private final SharedSubscriptionInterceptor sharedSubscriptionInterceptor;
+
+    // GET /api/rest/stats/cache - Hibernate second-level and query cache statistics
+    @Operation(
+            summary = "Get cache statistics",
+            description = "Hit/miss/put counters of the Hibernate second-level cache, overall and per region, " +
+                    "accumulated since startup"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics")
+    })
+    @GetMapping("/cache")
+    public Map<String, Object> getCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            regions.put(regionName, counters(region.getHitCount(), region.getMissCount(), region.getPutCount()));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("secondLevel", counters(
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount()));
+        result.put("queryCache", counters(
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount()));
+        result.put("regions", regions);
+        return result;
+    }
+
+    // GET /api/rest/stats/graphql-documents - persisted query / parsed document cache statistics
+    @Operation(
+            summary = "Get GraphQL document cache statistics",
+            description = "Hit/miss counters of the persisted query cache of parsed and validated GraphQL documents"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics")
+    })
+    @GetMapping("/graphql-documents")
+    public Map<String, Object> getGraphQLDocumentStats() {
+        CacheStats stats = persistedQueryDocumentProvider.stats();
+
+        Map<String, Object> result = counters(stats.hitCount(), stats.missCount(), stats.loadCount());
+        result.put("evictions", stats.evictionCount());
+        result.put("size", persistedQueryDocumentProvider.size());
+        return result;
+    }
+
+    // GET /api/rest/stats/subscriptions - keyed GraphQL subscriptions per routing index
+    @Operation(
+            summary = "Get subscription statistics",
+            description = "Number of active keyed subscriptions (by book, by author, by price threshold)"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics")
+    })
+    @GetMapping("/subscriptions")
+    public Map<String, Integer> getSubscriptionStats() {
+        return bookSubscriptionRouter.subscriberCounts();
+    }
+
+    // GET /api/rest/stats/events - subscription event delivery counters
+    @Operation(
+            summary = "Get event delivery statistics",
+            description = "Coalescing of committed changes, and published, dropped, conflated and disconnected counts " +
+                    "of subscription events since startup, and the number of shared GraphQL subscription executions"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics")
+    })
+    @GetMapping("/events")
+    public Map<String, Object> getEventStats() {
+        Map<String, Object> result = eventDelivery.snapshot();
+        result.put("coalescing", eventCoalescer.snapshot());
+        result.put("sharedSubscriptions", sharedSubscriptionInterceptor.activeExecutions());
+        return result;
+    }
+
+    private static Map<String, Object> counters(long hits, long misses, long puts) {
+        Map<String, Object> counters = new LinkedHashMap<>();
+        counters.put("hits", hits);
+        counters.put("misses", misses);
+        counters.put("puts", puts);
+        counters.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        return counters;
+    }
+}
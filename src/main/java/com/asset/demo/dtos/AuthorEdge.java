@@ -0,0 +1,16 @@
+package com.asset.demo.dtos;
+
+import com.asset.demo.entities.Author;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorEdge {
+    private String cursor;
+    private Author node;
+}
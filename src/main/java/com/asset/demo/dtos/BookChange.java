@@ -0,0 +1,18 @@
+package com.asset.demo.dtos;
+
+import com.asset.demo.events.BookSnapshot;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookChange {
+    private Long sequence;
+    private ChangeType type;
+    private Long id;
+    private BookSnapshot book;
+}
@@ -0,0 +1,18 @@
+package com.asset.demo.dtos;
+
+import com.asset.demo.entities.Book;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookLookupDto {
+    private Long id;
+    private boolean found;
+    // null when not found
+    private Book book;
+}
@@ -0,0 +1,21 @@
+package com.asset.demo.dtos;
+
+import com.asset.demo.events.ChangeEvent;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    /**
+     * The missed events are no longer retained: re-read the data, then keep consuming this subscription
+     */
+    RESYNC;
+
+    public static ChangeType of(ChangeEvent.Type type) {
+        return switch (type) {
+            case BOOK_CREATED, AUTHOR_CREATED -> CREATED;
+            case BOOK_UPDATED, AUTHOR_UPDATED -> UPDATED;
+            case BOOK_DELETED -> DELETED;
+        };
+    }
+}
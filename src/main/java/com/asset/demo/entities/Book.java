@@ -1,6 +1,8 @@
 package com.asset.demo.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -8,26 +10,63 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.proxy.HibernateProxy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Book {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "book_seq", allocationSize = 100)
     private Long id;
     private String title;
+    // Unique when present; books without one store null, which the constraint does not compare
+    @Column(unique = true)
     private String isbn;
     private Double price;
 
     @JsonIgnore
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Lazy: each read path picks its own fetch plan (entity graph / join fetch) when it renders the author
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id")
     private Author author;
+
+    /**
+     * Author id without initializing a lazy author proxy, so it is safe outside the persistence context
+     */
+    @JsonIgnore
+    public Long getAuthorId() {
+        if (author instanceof HibernateProxy proxy) {
+            return (Long) proxy.getHibernateLazyInitializer().getIdentifier();
+        }
+        return author == null ? null : author.getId();
+    }
+
+    /**
+     * An empty ISBN means none (gRPC sends "" for an unset string)
+     */
+    public static String isbnOrNull(String isbn) {
+        return isbn == null || isbn.isBlank() ? null : isbn;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeIsbn() {
+        isbn = isbnOrNull(isbn);
+    }
 }
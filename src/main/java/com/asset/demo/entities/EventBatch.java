@@ -0,0 +1,50 @@
+package com.asset.demo.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
+
+import java.time.Instant;
+
+/**
+ * One flushed micro-batch of change events in the shared change table read by every instance.
+ */
+@Entity
+@Table(name = "event_batch", indexes = @Index(name = "event_batch_created_at", columnList = "createdAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventBatch {
+    @Id
+    // allocationSize 1: ids must follow insert order across instances, pooled blocks per instance would not
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_batch_seq")
+    @SequenceGenerator(name = "event_batch_seq", sequenceName = "event_batch_seq", allocationSize = 1)
+    private Long id;
+
+    // Instance that published the batch
+    @Column(nullable = false)
+    private String origin;
+
+    // Set by the database on insert, so instances with skewed clocks agree on how old a batch is
+    @CreationTimestamp(source = SourceType.DB)
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // JSON array of {type, id, payload}
+    @Lob
+    @Column(nullable = false)
+    private String events;
+}
@@ -1,6 +1,6 @@
 package com.asset.demo.events;
 
-import com.asset.demo.entities.Author;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
@@ -8,26 +8,40 @@ import reactor.core.publisher.Sinks;
 
 @Service
 @Log4j2
+@RequiredArgsConstructor
 public class AuthorEventPublisher {
 
-    private final Sinks.Many<Author> authorCreatedSink = Sinks.many().multicast().onBackpressureBuffer();
-    private final Sinks.Many<Author> authorUpdatedSink = Sinks.many().multicast().onBackpressureBuffer();
+    private final EventDelivery eventDelivery;
 
-    public void publishAuthorCreated(Author author) {
-        authorCreatedSink.tryEmitNext(author);
-        log.debug("\uD83D\uDCE2 Published authorCreated event: {}", author.getName());
+    private final Sinks.Many<ChangeEvent> authorCreatedSink = Sinks.many().multicast().directBestEffort();
+    private final Sinks.Many<ChangeEvent> authorUpdatedSink = Sinks.many().multicast().directBestEffort();
+
+    /**
+     * Emit a committed author change to the sink of its type; called by the {@link EventCoalescer} flusher only
+     */
+    public void publish(ChangeEvent event) {
+        Sinks.Many<ChangeEvent> sink = switch (event.getType()) {
+            case AUTHOR_CREATED -> authorCreatedSink;
+            case AUTHOR_UPDATED -> authorUpdatedSink;
+            default -> throw new IllegalArgumentException("Not an author event: " + event);
+        };
+        eventDelivery.emit(sink, event);
+        log.debug("\uD83D\uDCE2 Published {}", event);
+    }
+
+    public Flux<AuthorSnapshot> getAuthorCreatedFlux() {
+        return eventDelivery.bounded(authorCreatedSink.asFlux().map(AuthorEventPublisher::snapshot), AuthorSnapshot::id);
     }
 
-    public void publishAuthorUpdated(Author author) {
-        authorUpdatedSink.tryEmitNext(author);
-        log.debug("\uD83D\uDCE2 Published authorUpdated event: {}", author.getName());
+    public Flux<AuthorSnapshot> getAuthorUpdatedFlux() {
+        return eventDelivery.bounded(authorUpdatedSink.asFlux().map(AuthorEventPublisher::snapshot), AuthorSnapshot::id);
     }
 
-    public Flux<Author> getAuthorCreatedFlux() {
-        return authorCreatedSink.asFlux();
+    public Flux<ChangeEvent> getChangeFlux() {
+        return Flux.merge(authorCreatedSink.asFlux(), authorUpdatedSink.asFlux());
     }
 
-    public Flux<Author> getAuthorUpdatedFlux() {
-        return authorUpdatedSink.asFlux();
+    private static AuthorSnapshot snapshot(ChangeEvent event) {
+        return (AuthorSnapshot) event.getPayload();
     }
 }
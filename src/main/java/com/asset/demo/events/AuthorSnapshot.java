@@ -0,0 +1,14 @@
+package com.asset.demo.events;
+
+import com.asset.demo.entities.Author;
+
+/**
+ * Immutable copy of an {@link Author} taken when an event is published; safe to read on any thread,
+ * with no persistence context. Never carries the books collection.
+ */
+public record AuthorSnapshot(Long id, String name, String email, String bio) {
+
+    public static AuthorSnapshot of(Author author) {
+        return new AuthorSnapshot(author.getId(), author.getName(), author.getEmail(), author.getBio());
+    }
+}
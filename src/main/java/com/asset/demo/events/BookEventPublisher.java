@@ -1,62 +1,69 @@
 package com.asset.demo.events;
 
-import com.asset.demo.entities.Book;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Sinks;
 
+import java.util.function.Function;
+
 @Log4j2
+@RequiredArgsConstructor
 @Service
 public class BookEventPublisher {
 
-    // Sinks for different event types
-    private final Sinks.Many<Book> bookCreatedSink = Sinks.many().multicast().onBackpressureBuffer();
-    private final Sinks.Many<Book> bookUpdatedSink = Sinks.many().multicast().onBackpressureBuffer();
-    private final Sinks.Many<Long> bookDeletedSink = Sinks.many().multicast().onBackpressureBuffer();
+    private final EventDelivery eventDelivery;
+
+    // Sinks for different event types; no shared buffer, each subscriber gets its own bounded one.
+    // They carry immutable snapshots taken once at publish time, never the managed entity
+    private final Sinks.Many<ChangeEvent> bookCreatedSink = Sinks.many().multicast().directBestEffort();
+    private final Sinks.Many<ChangeEvent> bookUpdatedSink = Sinks.many().multicast().directBestEffort();
+    private final Sinks.Many<ChangeEvent> bookDeletedSink = Sinks.many().multicast().directBestEffort();
 
     /**
-     * Emit book created event
+     * Emit a committed book change to the sink of its type; called by the {@link EventCoalescer} flusher only
      */
-    public void publishBookCreated(Book book) {
-        bookCreatedSink.tryEmitNext(book);
-        log.debug("\uD83D\uDCE2 Published bookCreated event: {}", book.getTitle());
+    public void publish(ChangeEvent event) {
+        Sinks.Many<ChangeEvent> sink = switch (event.getType()) {
+            case BOOK_CREATED -> bookCreatedSink;
+            case BOOK_UPDATED -> bookUpdatedSink;
+            case BOOK_DELETED -> bookDeletedSink;
+            default -> throw new IllegalArgumentException("Not a book event: " + event);
+        };
+        eventDelivery.emit(sink, event);
+        log.debug("\uD83D\uDCE2 Published {}", event);
     }
 
     /**
-     * Emit book updated event
+     * Get flux for book created events
      */
-    public void publishBookUpdated(Book book) {
-        bookUpdatedSink.tryEmitNext(book);
-        log.debug("\uD83D\uDCE2 Published bookUpdated event: {}", book.getTitle());
+    public Flux<BookSnapshot> getBookCreatedFlux() {
+        return eventDelivery.bounded(bookCreatedSink.asFlux().map(BookEventPublisher::snapshot), BookSnapshot::id);
     }
 
     /**
-     * Emit book deleted event
+     * Get flux for book updated events
      */
-    public void publishBookDeleted(Long bookId) {
-        bookDeletedSink.tryEmitNext(bookId);
-        log.debug("\uD83D\uDCE2 Published bookDeleted event: {}", bookId);
+    public Flux<BookSnapshot> getBookUpdatedFlux() {
+        return eventDelivery.bounded(bookUpdatedSink.asFlux().map(BookEventPublisher::snapshot), BookSnapshot::id);
     }
 
     /**
-     * Get flux for book created events
+     * Get flux for book deleted events
      */
-    public Flux<Book> getBookCreatedFlux() {
-        return bookCreatedSink.asFlux();
+    public Flux<Long> getBookDeletedFlux() {
+        return eventDelivery.bounded(bookDeletedSink.asFlux().map(ChangeEvent::getId), Function.identity());
     }
 
     /**
-     * Get flux for book updated events
+     * Raw flux of every book event, unbounded: callers apply their own buffering
      */
-    public Flux<Book> getBookUpdatedFlux() {
-        return bookUpdatedSink.asFlux();
+    public Flux<ChangeEvent> getChangeFlux() {
+        return Flux.merge(bookCreatedSink.asFlux(), bookUpdatedSink.asFlux(), bookDeletedSink.asFlux());
     }
 
-    /**
-     * Get flux for book deleted events
-     */
-    public Flux<Long> getBookDeletedFlux() {
-        return bookDeletedSink.asFlux();
+    private static BookSnapshot snapshot(ChangeEvent event) {
+        return (BookSnapshot) event.getPayload();
     }
 }
@@ -0,0 +1,19 @@
+package com.asset.demo.events;
+
+import com.asset.demo.entities.Book;
+import org.hibernate.Hibernate;
+
+/**
+ * Immutable copy of a {@link Book} taken when an event is published. {@code author} is only filled when
+ * the author was already loaded; {@code authorId} is always set, so readers can resolve the rest.
+ */
+public record BookSnapshot(Long id, String title, String isbn, Double price, Long authorId, AuthorSnapshot author) {
+
+    public static BookSnapshot of(Book book) {
+        // Never initializes a lazy author: publishing must not hit the database or need a session
+        AuthorSnapshot author = book.getAuthor() != null && Hibernate.isInitialized(book.getAuthor())
+                ? AuthorSnapshot.of(book.getAuthor())
+                : null;
+        return new BookSnapshot(book.getId(), book.getTitle(), book.getIsbn(), book.getPrice(), book.getAuthorId(), author);
+    }
+}
@@ -0,0 +1,124 @@
+package com.asset.demo.events;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Routes book events to keyed subscriptions through indexes instead of letting every subscriber filter
+ * the global flux: per-book and per-author subscribers are looked up by id, price-threshold subscribers
+ * by a range query on a sorted map. An event costs O(matching subscribers), not O(all subscribers).
+ */
+@RequiredArgsConstructor
+@Service
+public class BookSubscriptionRouter {
+
+    private final BookEventPublisher bookEventPublisher;
+    private final EventDelivery eventDelivery;
+
+    // bookByIdSubscription: updates of one book
+    private final ConcurrentMap<Long, Set<Sinks.Many<BookSnapshot>>> updatesByBookId = new ConcurrentHashMap<>();
+    // booksByAuthorSubscription: books created for one author
+    private final ConcurrentMap<Long, Set<Sinks.Many<BookSnapshot>>> createdByAuthorId = new ConcurrentHashMap<>();
+    // priceChangesSubscription: updates with price >= threshold, keyed by threshold
+    private final ConcurrentNavigableMap<Double, Set<Sinks.Many<BookSnapshot>>> updatesByMinPrice = new ConcurrentSkipListMap<>();
+
+    private final Disposable.Composite upstream = Disposables.composite();
+
+    @PostConstruct
+    void start() {
+        // Each upstream flux delivers serially, and every subscriber sink is fed by exactly one of them
+        upstream.add(bookEventPublisher.getBookUpdatedFlux().subscribe(this::routeUpdated));
+        upstream.add(bookEventPublisher.getBookCreatedFlux().subscribe(this::routeCreated));
+    }
+
+    @PreDestroy
+    void stop() {
+        upstream.dispose();
+    }
+
+    public Flux<BookSnapshot> bookUpdates(Long bookId) {
+        return subscribe(updatesByBookId, bookId);
+    }
+
+    public Flux<BookSnapshot> booksCreatedByAuthor(Long authorId) {
+        return subscribe(createdByAuthorId, authorId);
+    }
+
+    public Flux<BookSnapshot> priceChanges(Double minPrice) {
+        return subscribe(updatesByMinPrice, minPrice);
+    }
+
+    private void routeUpdated(BookSnapshot book) {
+        emit(updatesByBookId.get(book.id()), book);
+        if (book.price() != null) {
+            // Every threshold <= price matches; the sorted map hands them over without scanning the rest
+            for (Set<Sinks.Many<BookSnapshot>> subscribers : updatesByMinPrice.headMap(book.price(), true).values()) {
+                emit(subscribers, book);
+            }
+        }
+    }
+
+    private void routeCreated(BookSnapshot book) {
+        Long authorId = book.authorId();
+        if (authorId != null) {
+            emit(createdByAuthorId.get(authorId), book);
+        }
+    }
+
+    private static void emit(Set<Sinks.Many<BookSnapshot>> subscribers, BookSnapshot book) {
+        if (subscribers == null) {
+            return;
+        }
+        for (Sinks.Many<BookSnapshot> subscriber : subscribers) {
+            subscriber.tryEmitNext(book);
+        }
+    }
+
+    /**
+     * Registers a subscriber sink under {@code key} on subscription and removes it (and the key, once empty)
+     * on cancel, completion or error.
+     */
+    private <K> Flux<BookSnapshot> subscribe(ConcurrentMap<K, Set<Sinks.Many<BookSnapshot>>> index, K key) {
+        return Flux.defer(() -> {
+            // Fed serially by the router; the bounded() buffer downstream keeps its queue empty
+            Sinks.Many<BookSnapshot> sink = Sinks.many().unicast().onBackpressureBuffer();
+            index.compute(key, (k, subscribers) -> {
+                Set<Sinks.Many<BookSnapshot>> result = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+                result.add(sink);
+                return result;
+            });
+            return eventDelivery.bounded(sink.asFlux(), BookSnapshot::id)
+                    .doFinally(signal -> index.computeIfPresent(key, (k, subscribers) -> {
+                        subscribers.remove(sink);
+                        return subscribers.isEmpty() ? null : subscribers;
+                    }));
+        });
+    }
+
+    /**
+     * Active keyed subscriptions per index, for diagnostics
+     */
+    public Map<String, Integer> subscriberCounts() {
+        return Map.of(
+                "bookById", count(updatesByBookId),
+                "booksByAuthor", count(createdByAuthorId),
+                "priceChanges", count(updatesByMinPrice));
+    }
+
+    private static int count(Map<?, Set<Sinks.Many<BookSnapshot>>> index) {
+        return index.values().stream().mapToInt(Set::size).sum();
+    }
+}
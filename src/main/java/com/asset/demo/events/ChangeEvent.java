@@ -0,0 +1,74 @@
+package com.asset.demo.events;
+
+/**
+ * One published change: type, entity id and an immutable snapshot (the last known state for deletions).
+ */
+public final class ChangeEvent {
+
+    public enum Type {
+        BOOK_CREATED("Book"),
+        BOOK_UPDATED("Book"),
+        BOOK_DELETED("Book"),
+        AUTHOR_CREATED("Author"),
+        AUTHOR_UPDATED("Author");
+
+        private final String entity;
+
+        Type(String entity) {
+            this.entity = entity;
+        }
+
+        public String entity() {
+            return entity;
+        }
+    }
+
+    private final Type type;
+    private final Long id;
+    private final Object payload;
+    // Assigned by the EventReplayLog when the event is published; 0 until then
+    private final long sequence;
+
+    public ChangeEvent(Type type, Long id, Object payload) {
+        this(type, id, payload, 0);
+    }
+
+    private ChangeEvent(Type type, Long id, Object payload, long sequence) {
+        this.type = type;
+        this.id = id;
+        this.payload = payload;
+        this.sequence = sequence;
+    }
+
+    ChangeEvent withSequence(long sequence) {
+        return new ChangeEvent(type, id, payload, sequence);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Object getPayload() {
+        return payload;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Identifies the changed entity regardless of the kind of change, e.g. {@code Book:42}
+     */
+    public String entityKey() {
+        return type.entity() + ":" + id;
+    }
+
+    @Override
+    public String toString() {
+        return type + "#" + id + "@" + sequence;
+    }
+}
@@ -0,0 +1,44 @@
+package com.asset.demo.events;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Receiving end of the {@link EventBus}: retains every delivered event for replay, then emits it to the
+ * local publisher sinks, from where the keyed router, subscriptions and feeds pick it up.
+ * Batches arrive one at a time from a single thread, so the sinks never see concurrent emitters.
+ */
+@Log4j2
+@RequiredArgsConstructor
+@Component
+public class ChangeEventDispatcher {
+
+    private final EventBus eventBus;
+    private final EventReplayLog eventReplayLog;
+    private final BookEventPublisher bookEventPublisher;
+    private final AuthorEventPublisher authorEventPublisher;
+
+    @PostConstruct
+    void start() {
+        eventBus.subscribe(this::dispatch);
+    }
+
+    private void dispatch(List<ChangeEvent> batch) {
+        for (ChangeEvent event : batch) {
+            // Retained before it reaches any subscriber, so a resume never misses it
+            eventReplayLog.append(event);
+            try {
+                switch (event.getType()) {
+                    case BOOK_CREATED, BOOK_UPDATED, BOOK_DELETED -> bookEventPublisher.publish(event);
+                    case AUTHOR_CREATED, AUTHOR_UPDATED -> authorEventPublisher.publish(event);
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to publish {}", event, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.asset.demo.events;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Per-subscriber buffer holding at most one pending event per key: a newer event for a buffered key replaces
+ * it in place (keeping its queue position, so hot keys cannot starve others). When {@code capacity}
+ * distinct keys are pending, the oldest is dropped.
+ */
+final class ConflatingBuffer {
+
+    private ConflatingBuffer() {
+    }
+
+    static <T> Flux<T> conflate(Flux<T> source, Function<T, ?> keyOf, int capacity,
+                                Runnable onConflated, Runnable onDropped) {
+        return Flux.create(emitter -> {
+            Map<Object, T> pending = new LinkedHashMap<>();
+            AtomicInteger wip = new AtomicInteger();
+            AtomicBoolean done = new AtomicBoolean();
+
+            // Single drainer at a time; whoever bumps wip from 0 loops until no more work was signalled
+            Runnable drain = () -> {
+                if (wip.getAndIncrement() != 0) {
+                    return;
+                }
+                do {
+                    while (emitter.requestedFromDownstream() > 0 && !emitter.isCancelled()) {
+                        T next;
+                        synchronized (pending) {
+                            Iterator<T> oldest = pending.values().iterator();
+                            if (!oldest.hasNext()) {
+                                break;
+                            }
+                            next = oldest.next();
+                            oldest.remove();
+                        }
+                        emitter.next(next);
+                    }
+                    synchronized (pending) {
+                        if (done.get() && pending.isEmpty()) {
+                            emitter.complete();
+                        }
+                    }
+                } while (wip.decrementAndGet() != 0);
+            };
+
+            Disposable upstream = source.subscribe(
+                    event -> {
+                        Object key = keyOf.apply(event);
+                        synchronized (pending) {
+                            if (pending.containsKey(key)) {
+                                pending.put(key, event);
+                                onConflated.run();
+                            } else {
+                                if (pending.size() >= capacity) {
+                                    Iterator<T> oldest = pending.values().iterator();
+                                    oldest.next();
+                                    oldest.remove();
+                                    onDropped.run();
+                                }
+                                pending.put(key, event);
+                            }
+                        }
+                        drain.run();
+                    },
+                    emitter::error,
+                    () -> {
+                        done.set(true);
+                        drain.run();
+                    });
+
+            emitter.onRequest(requested -> drain.run());
+            emitter.onDispose(upstream);
+        });
+    }
+}
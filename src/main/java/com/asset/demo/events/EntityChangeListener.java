@@ -0,0 +1,91 @@
+package com.asset.demo.events;
+
+import com.asset.demo.entities.Author;
+import com.asset.demo.entities.Book;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns committed Book/Author writes into change events, whichever protocol made them. Hibernate calls
+ * these listeners only after the transaction commits, so rolled-back writes never publish anything.
+ * Snapshots are taken here, on the committing thread, while the entity state is still at hand.
+ */
+@Log4j2
+@RequiredArgsConstructor
+@Component
+public class EntityChangeListener
+        implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EventCoalescer eventCoalescer;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> entityClass = persister.getMappedClass();
+        return entityClass == Book.class || entityClass == Author.class;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Book book) {
+            eventCoalescer.submit(new ChangeEvent(ChangeEvent.Type.BOOK_CREATED, book.getId(), BookSnapshot.of(book)));
+        } else if (event.getEntity() instanceof Author author) {
+            eventCoalescer.submit(new ChangeEvent(ChangeEvent.Type.AUTHOR_CREATED, author.getId(), AuthorSnapshot.of(author)));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Book book) {
+            eventCoalescer.submit(new ChangeEvent(ChangeEvent.Type.BOOK_UPDATED, book.getId(), BookSnapshot.of(book)));
+        } else if (event.getEntity() instanceof Author author) {
+            eventCoalescer.submit(new ChangeEvent(ChangeEvent.Type.AUTHOR_UPDATED, author.getId(), AuthorSnapshot.of(author)));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        // Author deletions have no subscription
+        if (event.getEntity() instanceof Book book) {
+            eventCoalescer.submit(new ChangeEvent(ChangeEvent.Type.BOOK_DELETED, book.getId(), BookSnapshot.of(book)));
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        log.debug("Insert of {}#{} not committed, no event", event.getPersister().getEntityName(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        log.debug("Update of {}#{} not committed, no event", event.getPersister().getEntityName(), event.getId());
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        log.debug("Delete of {}#{} not committed, no event", event.getPersister().getEntityName(), event.getId());
+    }
+}
@@ -0,0 +1,28 @@
+package com.asset.demo.events;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carries flushed batches of committed changes to every instance of the application, this one included.
+ * <p>
+ * Implementations assign each delivered event its sequence: increasing in delivery order and identical on
+ * every instance, so a subscriber can resume on any of them. Batches are delivered one at a time, in order.
+ */
+public interface EventBus {
+
+    /**
+     * Publish one micro-batch; returns once the transport has accepted it
+     */
+    void publish(List<ChangeEvent> batch);
+
+    /**
+     * Register the receiver of delivered, sequenced batches; called once at startup
+     */
+    void subscribe(Consumer<List<ChangeEvent>> receiver);
+
+    /**
+     * Sequence of the last event published before this instance started listening; nothing up to it is delivered
+     */
+    long headSequence();
+}
@@ -0,0 +1,191 @@
+package com.asset.demo.events;
+
+import com.asset.demo.configs.EventProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects committed changes for {@code coalesceWindow} and hands them to the {@link EventBus} in one micro-batch.
+ * <p>
+ * Changes to the same entity within a window collapse into one event: created + updated is a created
+ * event with the latest state, updated + updated the latest update, created + deleted nothing at all.
+ * Entities keep the order of their first change. Batches are published from the single flusher thread;
+ * a batch the bus fails to take is put back in front of newer changes and retried with backoff.
+ */
+@Log4j2
+@RequiredArgsConstructor
+@Component
+public class EventCoalescer {
+
+    private static final Duration MAX_RETRY_BACKOFF = Duration.ofSeconds(5);
+
+    private final EventProperties eventProperties;
+    private final EventBus eventBus;
+
+    private final Object lock = new Object();
+    // Guarded by lock; keyed by ChangeEvent.entityKey()
+    private Map<String, ChangeEvent> pending = new LinkedHashMap<>();
+
+    // Set while an early flush for a full batch is queued, so a burst queues it once rather than once per event
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    private ScheduledExecutorService flusher;
+    // Flusher thread only: consecutive failed publishes, and when the next attempt is due
+    private int failures;
+    private long retryAt;
+
+    @PostConstruct
+    void start() {
+        long window = eventProperties.getCoalesceWindow().toMillis();
+        flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("event-flusher").daemon().factory());
+        flusher.scheduleWithFixedDelay(this::flush, window, window, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(1, TimeUnit.SECONDS);
+        // One last attempt, even while backing off
+        failures = 0;
+        flush();
+        synchronized (lock) {
+            if (!pending.isEmpty()) {
+                log.warn("Dropped {} unpublished change events on shutdown", pending.size());
+            }
+        }
+    }
+
+    /**
+     * Queue a committed change; returns immediately
+     */
+    public void submit(ChangeEvent event) {
+        submitted.increment();
+        boolean full;
+        synchronized (lock) {
+            if (fold(pending, event)) {
+                coalesced.increment();
+            }
+            full = pending.size() >= eventProperties.getMaxBatchSize();
+        }
+        if (full && !flusher.isShutdown() && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(this::flush);
+        }
+    }
+
+    /**
+     * Adds {@code event} to {@code events}, merged with an earlier change to the same entity;
+     * true when there was one
+     */
+    static boolean fold(Map<String, ChangeEvent> events, ChangeEvent event) {
+        ChangeEvent previous = events.get(event.entityKey());
+        if (previous == null) {
+            events.put(event.entityKey(), event);
+            return false;
+        }
+        ChangeEvent merged = merge(previous, event);
+        if (merged == null) {
+            events.remove(event.entityKey());
+        } else {
+            // Replacing keeps the entity at the position of its first change
+            events.put(event.entityKey(), merged);
+        }
+        return true;
+    }
+
+    /**
+     * The one event equivalent to {@code previous} followed by {@code next} on the same entity, {@code null} for none
+     */
+    static ChangeEvent merge(ChangeEvent previous, ChangeEvent next) {
+        boolean created = previous.getType() == ChangeEvent.Type.BOOK_CREATED
+                || previous.getType() == ChangeEvent.Type.AUTHOR_CREATED;
+        if (!created) {
+            return next;
+        }
+        return switch (next.getType()) {
+            // Subscribers never saw it exist
+            case BOOK_DELETED -> null;
+            case BOOK_UPDATED, AUTHOR_UPDATED ->
+                    new ChangeEvent(previous.getType(), next.getId(), next.getPayload()).withSequence(next.getSequence());
+            default -> next;
+        };
+    }
+
+    void flush() {
+        // While backing off, a queued early flush stays flagged so a full batch does not queue more
+        if (failures > 0 && System.nanoTime() - retryAt < 0) {
+            return;
+        }
+        // Cleared before draining: events arriving from here on need a flush of their own
+        flushScheduled.set(false);
+        List<ChangeEvent> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending.values());
+            pending = new LinkedHashMap<>();
+        }
+        // An exception here would cancel the scheduled flush for good
+        try {
+            eventBus.publish(batch);
+        } catch (RuntimeException e) {
+            requeue(batch);
+            failures++;
+            long backoff = Math.min(eventProperties.getCoalesceWindow().toMillis() << Math.min(failures, 16),
+                    MAX_RETRY_BACKOFF.toMillis());
+            retryAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff);
+            log.error("Failed to publish {} change events, retrying in {} ms", batch.size(), backoff, e);
+            return;
+        }
+        failures = 0;
+        flushed.add(batch.size());
+        batches.increment();
+        log.debug("Flushed {} change events", batch.size());
+    }
+
+    /**
+     * Puts a batch back ahead of the changes submitted since it was drained
+     */
+    private void requeue(List<ChangeEvent> batch) {
+        synchronized (lock) {
+            Map<String, ChangeEvent> requeued = new LinkedHashMap<>();
+            for (ChangeEvent event : batch) {
+                requeued.put(event.entityKey(), event);
+            }
+            for (ChangeEvent event : pending.values()) {
+                fold(requeued, event);
+            }
+            pending = requeued;
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("bus", eventProperties.getBus());
+        snapshot.put("coalesceWindowMillis", eventProperties.getCoalesceWindow().toMillis());
+        snapshot.put("submitted", submitted.sum());
+        snapshot.put("coalesced", coalesced.sum());
+        snapshot.put("flushed", flushed.sum());
+        snapshot.put("batches", batches.sum());
+        return snapshot;
+    }
+}
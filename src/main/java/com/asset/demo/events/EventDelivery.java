@@ -0,0 +1,90 @@
+package com.asset.demo.events;
+
+import com.asset.demo.configs.EventProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Shared emit path and per-subscriber buffering of the event publishers, with delivery counters.
+ * <p>
+ * Sinks are {@code directBestEffort}: they never buffer themselves, so each subscriber's flux is wrapped
+ * with {@link #bounded(Flux, Function)}, which requests everything upstream and applies the configured
+ * overflow policy to that subscriber alone. A stalled client costs at most {@code subscriberBufferSize} events.
+ */
+@Log4j2
+@RequiredArgsConstructor
+@Component
+public class EventDelivery {
+
+    private final EventProperties eventProperties;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder emitFailures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder conflated = new LongAdder();
+    private final LongAdder disconnected = new LongAdder();
+
+    /**
+     * Emit from any thread. Concurrent emitters make {@code tryEmitNext} fail with FAIL_NON_SERIALIZED
+     * instead of blocking, so that case is retried briefly rather than silently losing the event.
+     */
+    public <T> void emit(Sinks.Many<T> sink, T event) {
+        long deadline = System.nanoTime() + eventProperties.getEmitRetryTimeout().toNanos();
+        while (true) {
+            Sinks.EmitResult result = sink.tryEmitNext(event);
+            if (result.isSuccess()) {
+                published.increment();
+                return;
+            }
+            if (result == Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+                // Nobody listening is not a failure
+                return;
+            }
+            if (result == Sinks.EmitResult.FAIL_NON_SERIALIZED && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+                continue;
+            }
+            emitFailures.increment();
+            log.warn("Dropped event {}: {}", event, result);
+            return;
+        }
+    }
+
+    /**
+     * Bound what one subscriber may have pending; {@code keyOf} identifies the entity for conflation
+     */
+    public <T> Flux<T> bounded(Flux<T> source, Function<T, ?> keyOf) {
+        int bufferSize = eventProperties.getSubscriberBufferSize();
+        return switch (eventProperties.getOverflowPolicy()) {
+            case DROP_OLDEST -> source.onBackpressureBuffer(bufferSize, event -> dropped.increment(),
+                    BufferOverflowStrategy.DROP_OLDEST);
+            case CONFLATE -> ConflatingBuffer.conflate(source, keyOf, bufferSize,
+                    conflated::increment, dropped::increment);
+            case DISCONNECT -> source.onBackpressureBuffer(bufferSize, event -> dropped.increment(),
+                            BufferOverflowStrategy.ERROR)
+                    .doOnError(Exceptions::isOverflow, error -> disconnected.increment());
+        };
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("overflowPolicy", eventProperties.getOverflowPolicy());
+        snapshot.put("subscriberBufferSize", eventProperties.getSubscriberBufferSize());
+        snapshot.put("published", published.sum());
+        snapshot.put("emitFailures", emitFailures.sum());
+        snapshot.put("dropped", dropped.sum());
+        snapshot.put("conflated", conflated.sum());
+        snapshot.put("disconnected", disconnected.sum());
+        return snapshot;
+    }
+}
@@ -0,0 +1,109 @@
+package com.asset.demo.events;
+
+import com.asset.demo.configs.EventProperties;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Keeps the last {@code replayCapacity} delivered events in a ring buffer, so a subscriber that reconnects
+ * with the last sequence it saw gets exactly the events it missed.
+ * <p>
+ * Sequences come from the {@link EventBus}; they increase but may have gaps, so the log tracks a floor
+ * instead of doing arithmetic on them: the newest evicted sequence, or the bus head before anything was.
+ * A resume from below the floor, or from above the newest sequence (another run), needs a resync.
+ */
+@Component
+public class EventReplayLog {
+
+    private final EventDelivery eventDelivery;
+    private final ChangeEvent[] ring;
+
+    // Guarded by this
+    private long appended;
+    private long floor;
+    private long lastSequence;
+
+    public EventReplayLog(EventProperties eventProperties, EventDelivery eventDelivery, EventBus eventBus) {
+        this.eventDelivery = eventDelivery;
+        this.ring = new ChangeEvent[eventProperties.getReplayCapacity()];
+        this.floor = eventBus.headSequence();
+        this.lastSequence = floor;
+    }
+
+    /**
+     * Retain a sequenced event, evicting the oldest when full
+     */
+    public synchronized void append(ChangeEvent event) {
+        int slot = (int) (appended++ % ring.length);
+        if (ring[slot] != null) {
+            floor = ring[slot].getSequence();
+        }
+        ring[slot] = event;
+        // A batch that committed late on the JDBC bus arrives below sequences already delivered
+        lastSequence = Math.max(lastSequence, event.getSequence());
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Events of {@code entity} (all entities when {@code null}) after {@code sequence}; {@code complete} is false
+     * when part of that range has been evicted or the sequence is not from this run.
+     */
+    public synchronized Replay since(long sequence, String entity) {
+        if (sequence > lastSequence || sequence < floor) {
+            return new Replay(List.of(), false, lastSequence);
+        }
+        List<ChangeEvent> events = new ArrayList<>();
+        long retained = Math.min(appended, ring.length);
+        for (long i = appended - retained; i < appended; i++) {
+            ChangeEvent event = ring[(int) (i % ring.length)];
+            if (event.getSequence() > sequence && (entity == null || event.getType().entity().equals(entity))) {
+                events.add(event);
+            }
+        }
+        return new Replay(events, true, lastSequence);
+    }
+
+    /**
+     * The missed events after {@code since} followed by the live ones, or a single resync item when the gap
+     * is gone; only the live ones when {@code since} is {@code null}. The live flux is connected before the log is read and everything up to the replayed sequence
+     * is skipped, so no event is lost or repeated at the seam. Live events arriving during the replay wait in
+     * the subscriber's bounded buffer.
+     */
+    public <T> Flux<T> resume(Flux<ChangeEvent> live, Long since, String entity,
+                              Function<ChangeEvent, T> toItem, LongFunction<T> resync) {
+        if (since == null) {
+            return eventDelivery.bounded(live, ChangeEvent::entityKey).map(toItem);
+        }
+        return Flux.defer(() -> {
+            ConnectableFlux<ChangeEvent> liveFeed = eventDelivery.bounded(live, ChangeEvent::entityKey).publish();
+            Disposable connection = liveFeed.connect();
+
+            Replay replay = since(since, entity);
+            Flux<T> head = replay.complete()
+                    ? Flux.fromIterable(replay.events()).map(toItem)
+                    : Flux.just(resync.apply(replay.lastSequence()));
+            long replayedUpTo = replay.lastSequence();
+
+            // Only the seam is filtered: a late event below the replayed sequence that arrives afterwards still passes
+            AtomicBoolean caughtUp = new AtomicBoolean();
+            Flux<ChangeEvent> tail = liveFeed.filter(event -> caughtUp.get()
+                    || (event.getSequence() > replayedUpTo && caughtUp.compareAndSet(false, true)));
+            return head.concatWith(tail.map(toItem))
+                    .doFinally(signal -> connection.dispose());
+        });
+    }
+
+    public record Replay(List<ChangeEvent> events, boolean complete, long lastSequence) {
+    }
+}
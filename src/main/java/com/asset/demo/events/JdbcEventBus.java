@@ -0,0 +1,253 @@
+package com.asset.demo.events;
+
+import com.asset.demo.configs.EventProperties;
+import com.asset.demo.entities.EventBatch;
+import com.asset.demo.repositories.EventBatchRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Multi-instance bus over a shared change table: each flushed micro-batch is one {@link EventBatch} row,
+ * and every instance polls the rows after its watermark and delivers them locally. One insert per batch
+ * and one query per poll, whatever the number of events or instances.
+ * <p>
+ * The sequence of an event is its row id shifted left by {@link #INDEX_BITS}, plus its index in the batch,
+ * so every instance derives the same sequences. Ids are taken before commit, so a transaction holding a lower
+ * id may commit after a higher one: the watermark only moves over consecutive ids, and rows after a missing id
+ * wait until they are {@code commitSettle} old on the database clock. The missing ids are then skipped (rolled
+ * back, or lost to a sequence cache) but watched for {@code skippedWatch}, and a batch that shows up late is
+ * still delivered, with a sequence below ones already delivered.
+ * Changes to the same entity within one poll, possibly from different instances, are deduplicated.
+ */
+@Log4j2
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(prefix = "app.events", name = "bus", havingValue = "jdbc")
+public class JdbcEventBus implements EventBus {
+
+    static final int INDEX_BITS = 20;
+    private static final int MAX_EVENTS_PER_ROW = 1 << INDEX_BITS;
+    private static final Duration CLEANUP_INTERVAL = Duration.ofMinutes(1);
+    private static final int MAX_SKIPPED = 10_000;
+    private static final int SKIPPED_PER_POLL = 1_000;
+
+    private final EventProperties eventProperties;
+    private final EventBatchRepository eventBatchRepository;
+    private final ObjectMapper objectMapper;
+
+    private final String origin = UUID.randomUUID().toString();
+
+    private volatile Consumer<List<ChangeEvent>> receiver = batch -> {
+    };
+    // Poller thread only: last id up to which every row was delivered or skipped
+    private long watermark;
+    // Poller thread only: skipped id -> database time it was skipped, in id order
+    private final Map<Long, Instant> skipped = new LinkedHashMap<>();
+    // Poller thread only: database clock as of the last poll that read rows
+    private Instant databaseTime;
+    private long headSequence;
+    private ScheduledExecutorService poller;
+
+    @PostConstruct
+    void start() {
+        // History before startup is not replayed; it is covered by the resync path
+        watermark = eventBatchRepository.findMaxId();
+        headSequence = sequence(watermark, MAX_EVENTS_PER_ROW - 1);
+
+        EventProperties.Jdbc jdbc = eventProperties.getJdbc();
+        poller = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("event-bus-poller").daemon().factory());
+        long interval = jdbc.getPollInterval().toMillis();
+        poller.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::cleanup, CLEANUP_INTERVAL.toMillis(), CLEANUP_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Event bus polling change table from batch {} as {}", watermark, origin);
+    }
+
+    @PreDestroy
+    void stop() {
+        poller.shutdown();
+    }
+
+    @Override
+    public void publish(List<ChangeEvent> batch) {
+        for (int from = 0; from < batch.size(); from += MAX_EVENTS_PER_ROW) {
+            List<ChangeEvent> chunk = batch.subList(from, Math.min(from + MAX_EVENTS_PER_ROW, batch.size()));
+            // createdAt comes from the database clock, like the settle check in poll()
+            eventBatchRepository.save(EventBatch.builder()
+                    .origin(origin)
+                    .events(write(chunk))
+                    .build());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<List<ChangeEvent>> receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public long headSequence() {
+        return headSequence;
+    }
+
+    void poll() {
+        // An exception here would cancel the scheduled poll for good
+        try {
+            EventProperties.Jdbc jdbc = eventProperties.getJdbc();
+            List<EventBatch> late = lateRows();
+            List<EventBatch> rows = new ArrayList<>(late);
+            List<Object[]> fresh = eventBatchRepository.findAfterWithDatabaseTime(watermark, PageRequest.ofSize(jdbc.getPollBatchSize()));
+            if (!fresh.isEmpty()) {
+                databaseTime = toInstant(fresh.get(0)[1]);
+            }
+            long delivered = watermark;
+            for (Object[] result : fresh) {
+                EventBatch row = (EventBatch) result[0];
+                if (row.getId() > delivered + 1) {
+                    // A lower id is not visible yet: wait for it until this row has settled
+                    if (row.getCreatedAt().plus(jdbc.getCommitSettle()).isAfter(databaseTime)) {
+                        break;
+                    }
+                    skip(delivered + 1, row.getId());
+                }
+                rows.add(row);
+                delivered = row.getId();
+            }
+            if (rows.isEmpty()) {
+                return;
+            }
+
+            // One delivery per poll, with repeated changes to an entity merged like the coalescer does
+            Map<String, ChangeEvent> delivery = new LinkedHashMap<>();
+            for (EventBatch row : rows) {
+                List<ChangeEvent> events = read(row);
+                for (ChangeEvent event : events) {
+                    EventCoalescer.fold(delivery, event);
+                }
+            }
+
+            if (!delivery.isEmpty()) {
+                // Merging keeps each entity at its first position, so restore sequence order
+                List<ChangeEvent> ordered = new ArrayList<>(delivery.values());
+                ordered.sort((a, b) -> Long.compare(a.getSequence(), b.getSequence()));
+                receiver.accept(ordered);
+            }
+            watermark = delivered;
+            for (EventBatch row : late) {
+                skipped.remove(row.getId());
+                log.warn("Event batch {} committed after later batches were delivered", row.getId());
+            }
+        } catch (RuntimeException e) {
+            log.error("Polling the change table failed", e);
+        }
+    }
+
+    /**
+     * Skipped batches that have committed since; ids watched for long enough are forgotten
+     */
+    private List<EventBatch> lateRows() {
+        if (skipped.isEmpty()) {
+            return List.of();
+        }
+        if (databaseTime != null) {
+            Instant watchedSince = databaseTime.minus(eventProperties.getJdbc().getSkippedWatch());
+            skipped.values().removeIf(skippedAt -> skippedAt.isBefore(watchedSince));
+        }
+        List<Long> ids = skipped.keySet().stream().limit(SKIPPED_PER_POLL).toList();
+        return ids.isEmpty() ? List.of() : eventBatchRepository.findAllById(ids);
+    }
+
+    private void skip(long fromId, long toId) {
+        for (long id = fromId; id < toId; id++) {
+            if (skipped.size() >= MAX_SKIPPED) {
+                // Ids beyond this are assumed rolled back rather than watched
+                log.warn("Skipping event batches {} to {} without watching them", id, toId - 1);
+                return;
+            }
+            skipped.put(id, databaseTime);
+        }
+    }
+
+    private static Instant toInstant(Object databaseTime) {
+        return switch (databaseTime) {
+            case Instant instant -> instant;
+            case Timestamp timestamp -> timestamp.toInstant();
+            case OffsetDateTime offsetDateTime -> offsetDateTime.toInstant();
+            default -> throw new IllegalStateException("Unexpected database time " + databaseTime.getClass());
+        };
+    }
+
+    private void cleanup() {
+        // Both sides of the cutoff on the database clock; nothing to compare against before the first poll
+        if (databaseTime == null) {
+            return;
+        }
+        try {
+            int deleted = eventBatchRepository.deleteCreatedBefore(databaseTime.minus(eventProperties.getJdbc().getRetention()));
+            log.debug("Deleted {} expired event batches", deleted);
+        } catch (RuntimeException e) {
+            log.warn("Change table cleanup failed", e);
+        }
+    }
+
+    private String write(List<ChangeEvent> events) {
+        List<WireEvent> wire = events.stream()
+                .map(event -> new WireEvent(event.getType(), event.getId(), objectMapper.valueToTree(event.getPayload())))
+                .toList();
+        try {
+            return objectMapper.writeValueAsString(wire);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<ChangeEvent> read(EventBatch row) {
+        List<WireEvent> wire;
+        try {
+            wire = objectMapper.readValue(row.getEvents(), new TypeReference<>() {
+            });
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<ChangeEvent> events = new ArrayList<>(wire.size());
+        for (int index = 0; index < wire.size(); index++) {
+            WireEvent event = wire.get(index);
+            Class<?> payloadType = "Book".equals(event.type().entity()) ? BookSnapshot.class : AuthorSnapshot.class;
+            Object payload = event.payload() == null || event.payload().isNull()
+                    ? null
+                    : objectMapper.convertValue(event.payload(), payloadType);
+            events.add(new ChangeEvent(event.type(), event.id(), payload).withSequence(sequence(row.getId(), index)));
+        }
+        return events;
+    }
+
+    private static long sequence(long batchId, int index) {
+        return (batchId << INDEX_BITS) | index;
+    }
+
+    private record WireEvent(ChangeEvent.Type type, Long id, JsonNode payload) {
+    }
+}
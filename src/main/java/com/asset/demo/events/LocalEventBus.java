@@ -0,0 +1,45 @@
+package com.asset.demo.events;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Single-instance bus: batches are sequenced and delivered synchronously on the publishing thread.
+ * <p>
+ * Sequences start at the startup time in microseconds rather than at zero, so a sequence from a previous
+ * run is always older than anything retained and leads to a resync instead of a wrong replay.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.events", name = "bus", havingValue = "local", matchIfMissing = true)
+public class LocalEventBus implements EventBus {
+
+    private final long headSequence = System.currentTimeMillis() * 1000;
+
+    // Guarded by this
+    private long lastSequence = headSequence;
+    private volatile Consumer<List<ChangeEvent>> receiver = batch -> {
+    };
+
+    @Override
+    public synchronized void publish(List<ChangeEvent> batch) {
+        List<ChangeEvent> sequenced = new ArrayList<>(batch.size());
+        for (ChangeEvent event : batch) {
+            sequenced.add(event.withSequence(++lastSequence));
+        }
+        receiver.accept(sequenced);
+    }
+
+    @Override
+    public void subscribe(Consumer<List<ChangeEvent>> receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public long headSequence() {
+        return headSequence;
+    }
+}
@@ -0,0 +1,52 @@
+package com.asset.demo.graphql;
+
+import com.asset.demo.repositories.AuthorRepository;
+import com.asset.demo.repositories.BookRepository;
+
+import java.time.Duration;
+
+/**
+ * Row counts used as list-size estimates by {@link QueryCostInstrumentation}. Refreshed at most once per
+ * {@code refreshInterval}, so costing a query normally costs no database round trip.
+ */
+public class CardinalityEstimates {
+
+    private record Snapshot(long books, long authors, long takenAtNanos) {
+    }
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final long refreshIntervalNanos;
+
+    private volatile Snapshot snapshot;
+
+    public CardinalityEstimates(BookRepository bookRepository, AuthorRepository authorRepository, Duration refreshInterval) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    public long books() {
+        return current().books();
+    }
+
+    public long authors() {
+        return current().authors();
+    }
+
+    public long booksPerAuthor() {
+        Snapshot current = current();
+        // Rounded up: an author with any books costs at least one
+        return current.authors() == 0 ? 0 : (current.books() + current.authors() - 1) / current.authors();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null || System.nanoTime() - current.takenAtNanos() > refreshIntervalNanos) {
+            // Racing refreshes are harmless: both read (almost) the same counts
+            current = new Snapshot(bookRepository.count(), authorRepository.count(), System.nanoTime());
+            snapshot = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,113 @@
+package com.asset.demo.graphql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import graphql.ExecutionInput;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Automatic persisted queries (Apollo protocol) on top of a bounded parsed/validated document cache.
+ * <p>
+ * A request carrying {@code extensions.persistedQuery.sha256Hash} is served from the cache by hash; on a
+ * miss without query text the client gets {@code PersistedQueryNotFound} and retries with the full text,
+ * which is verified against the hash, parsed, validated and cached. Plain requests are cached by query text,
+ * so every repeated operation skips parse and validation. Keys are prefixed by kind, so a query whose text happens
+ * to look like a hash can never be served another operation's document.
+ */
+public class PersistedQueryDocumentProvider implements PreparsedDocumentProvider {
+
+    /**
+     * Query text put in place of a missing query by {@link PersistedQueryRequestFilter}
+     */
+    public static final String PERSISTED_QUERY_MARKER = "PersistedQueryMarker";
+
+    private static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+    private static final String SHA256_HASH = "sha256Hash";
+    private static final String HASH_KEY = "sha256:";
+    private static final String QUERY_KEY = "query:";
+
+    private final Cache<String, PreparsedDocumentEntry> documents;
+
+    public PersistedQueryDocumentProvider(int capacity) {
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(capacity)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+                                              Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String query = executionInput.getQuery();
+        String hash = persistedQueryHash(executionInput);
+        if (hash == null) {
+            return documents.get(QUERY_KEY + query, key -> parseAndValidateFunction.apply(executionInput));
+        }
+
+        // Hex case does not change the hash
+        String hashKey = HASH_KEY + hash.toLowerCase(Locale.ROOT);
+        PreparsedDocumentEntry cached = documents.getIfPresent(hashKey);
+        if (cached != null) {
+            return cached;
+        }
+        if (query == null || query.isBlank() || PERSISTED_QUERY_MARKER.equals(query)) {
+            return new PreparsedDocumentEntry(error("PersistedQueryNotFound", "PERSISTED_QUERY_NOT_FOUND"));
+        }
+        if (!hash.equalsIgnoreCase(sha256(query))) {
+            return new PreparsedDocumentEntry(error("provided sha does not match query", "PERSISTED_QUERY_ID_INVALID"));
+        }
+        return documents.get(hashKey, key -> parseAndValidateFunction.apply(executionInput));
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+                                                                       Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return CompletableFuture.completedFuture(getDocument(executionInput, parseAndValidateFunction));
+    }
+
+    public CacheStats stats() {
+        return documents.stats();
+    }
+
+    public long size() {
+        return documents.estimatedSize();
+    }
+
+    private static String persistedQueryHash(ExecutionInput executionInput) {
+        Map<String, Object> extensions = executionInput.getExtensions();
+        if (extensions != null && extensions.get(PERSISTED_QUERY_EXTENSION) instanceof Map<?, ?> persistedQuery
+                && persistedQuery.get(SHA256_HASH) instanceof String hash && !hash.isEmpty()) {
+            return hash;
+        }
+        return null;
+    }
+
+    private static GraphQLError error(String message, String code) {
+        return GraphqlErrorBuilder.newError()
+                .message(message)
+                .extensions(Map.of("code", code))
+                .build();
+    }
+
+    private static String sha256(String query) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
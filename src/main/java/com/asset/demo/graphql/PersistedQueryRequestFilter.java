@@ -0,0 +1,236 @@
+package com.asset.demo.graphql;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The HTTP transport rejects a request without {@code query}, but a hash-only persisted query has none.
+ * For such requests this fills in {@link PersistedQueryDocumentProvider#PERSISTED_QUERY_MARKER}, which the
+ * document provider resolves from its cache (or answers with {@code PersistedQueryNotFound}).
+ * <p>
+ * The body is scanned only until a top-level {@code query} string shows up, so an ordinary request is never read
+ * in full here: the bytes read so far are replayed, followed by the unread rest of the original stream. A body
+ * without query text is read in full, up to {@code maxBodySize} bytes; a larger one is rejected with 413.
+ */
+@RequiredArgsConstructor
+public class PersistedQueryRequestFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+    private final long maxBodySize;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ServletInputStream input = request.getInputStream();
+        RecordingInputStream recording = new RecordingInputStream(input);
+        if (hasQuery(recording)) {
+            filterChain.doFilter(new BodyRequestWrapper(request, recording.recorded(), input), response);
+            return;
+        }
+        // No query text: a persisted query body is small, so read the rest and rewrite it if it is one
+        byte[] buffer = new byte[8192];
+        for (int n = 0; n >= 0; n = recording.read(buffer)) {
+            if (recording.size() > maxBodySize) {
+                response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Request body without query too large");
+                return;
+            }
+        }
+        byte[] body = withMarkerQuery(recording.recorded());
+        filterChain.doFilter(new BodyRequestWrapper(request, body, null), response);
+    }
+
+    /**
+     * Whether the body is a JSON object with a top-level {@code query} string; stops reading as soon as that is known.
+     * A malformed body counts as having one, so it goes through untouched and the transport reports it.
+     */
+    private boolean hasQuery(InputStream body) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            // The servlet stream is still to be read by the transport
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return true;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                if (parser.nextToken() == JsonToken.VALUE_STRING && "query".equals(name)) {
+                    return true;
+                }
+                parser.skipChildren();
+            }
+            return false;
+        } catch (JsonProcessingException e) {
+            return true;
+        }
+    }
+
+    private byte[] withMarkerQuery(byte[] body) throws IOException {
+        JsonNode json = objectMapper.readTree(body);
+        if (!(json instanceof ObjectNode request) || request.hasNonNull("query")
+                || !request.path("extensions").has("persistedQuery")) {
+            return body;
+        }
+        request.put("query", PersistedQueryDocumentProvider.PERSISTED_QUERY_MARKER);
+        return objectMapper.writeValueAsBytes(request);
+    }
+
+    /**
+     * Keeps a copy of every byte read through it, so what the scan consumed can be replayed
+     */
+    private static class RecordingInputStream extends FilterInputStream {
+
+        private final ByteArrayOutputStream recorded = new ByteArrayOutputStream();
+
+        RecordingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                recorded.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                recorded.write(buffer, offset, n);
+            }
+            return n;
+        }
+
+        byte[] recorded() {
+            return recorded.toByteArray();
+        }
+
+        int size() {
+            return recorded.size();
+        }
+    }
+
+    /**
+     * Replays the bytes already consumed (possibly rewritten), then the unread rest of the original stream, if any
+     */
+    private static class BodyRequestWrapper extends HttpServletRequestWrapper {
+
+        private final byte[] head;
+        private final ServletInputStream rest;
+        // One stream per request: a second getInputStream() call must continue where the first left off
+        private ServletInputStream input;
+
+        /**
+         * @param rest the original stream after {@code head}, or {@code null} when {@code head} is the whole body
+         */
+        BodyRequestWrapper(HttpServletRequest request, byte[] head, ServletInputStream rest) {
+            super(request);
+            this.head = head;
+            this.rest = rest;
+        }
+
+        @Override
+        public int getContentLength() {
+            return rest == null ? head.length : super.getContentLength();
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return rest == null ? head.length : super.getContentLengthLong();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            if (input == null) {
+                input = new ReplayingInputStream(new ByteArrayInputStream(head), rest);
+            }
+            return input;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static class ReplayingInputStream extends ServletInputStream {
+
+        private final ByteArrayInputStream head;
+        private final ServletInputStream rest;
+
+        ReplayingInputStream(ByteArrayInputStream head, ServletInputStream rest) {
+            this.head = head;
+            this.rest = rest;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return head.available() == 0 && (rest == null || rest.isFinished());
+        }
+
+        @Override
+        public boolean isReady() {
+            return head.available() > 0 || rest == null || rest.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            if (rest != null) {
+                // The container signals the rest; the head is readable whenever it is called
+                rest.setReadListener(readListener);
+                return;
+            }
+            try {
+                readListener.onDataAvailable();
+                readListener.onAllDataRead();
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = head.read();
+            return b >= 0 || rest == null ? b : rest.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            int n = head.read(buffer, offset, length);
+            return n > 0 || rest == null ? n : rest.read(buffer, offset, length);
+        }
+    }
+}
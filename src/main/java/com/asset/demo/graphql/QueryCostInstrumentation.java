@@ -0,0 +1,153 @@
+package com.asset.demo.graphql;
+
+import com.asset.demo.configs.GraphQLProperties;
+import com.asset.demo.configs.PaginationProperties;
+import graphql.ErrorType;
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.language.OperationDefinition;
+import graphql.normalized.ExecutableNormalizedField;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Estimates what an operation will load before it runs and rejects or throttles the expensive ones.
+ * <p>
+ * Every field costs 1 plus the cost of its sub-selection times the field's multiplier: the estimated
+ * list size for list fields ({@code allBooks}, {@code Author.books}, ...) taken from table counts or
+ * from {@code size}/{@code first} arguments or the length of {@code ids}, and 1 for everything else. So
+ * {@code allAuthors { books { id } }} scores roughly authors x books-per-author instead of 3.
+ * The cost is returned in the {@code cost} response extension.
+ */
+@Log4j2
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final class CostState implements InstrumentationState {
+        private long cost;
+    }
+
+    private final CardinalityEstimates estimates;
+    private final PaginationProperties paginationProperties;
+    private final GraphQLProperties.Cost properties;
+    private final Semaphore expensiveQueries;
+
+    public QueryCostInstrumentation(CardinalityEstimates estimates,
+                                    PaginationProperties paginationProperties,
+                                    GraphQLProperties.Cost properties) {
+        this.estimates = estimates;
+        this.paginationProperties = paginationProperties;
+        this.properties = properties;
+        this.expensiveQueries = new Semaphore(properties.getMaxConcurrentExpensive(), true);
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return new CostState();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        // The normalized tree is memoized on the context and reused by selection-set lookups in the fetchers
+        long cost = cost(executionContext.getNormalizedQueryTree().get().getTopLevelFields());
+        ((CostState) state).cost = cost;
+
+        if (cost > properties.getMaxCost()) {
+            log.info("Rejected operation {} with cost {}", executionContext.getOperationDefinition().getName(), cost);
+            throw new AbortExecutionException("Query cost " + cost + " exceeds the budget of " + properties.getMaxCost());
+        }
+
+        // Subscriptions would hold a slot for their whole lifetime
+        boolean subscription = executionContext.getOperationDefinition().getOperation() == OperationDefinition.Operation.SUBSCRIPTION;
+        if (cost <= properties.getThrottleCost() || subscription) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        // Never park the request thread for a slot; the client backs off and retries instead
+        if (!expensiveQueries.tryAcquire()) {
+            GraphQLError error = GraphqlErrorBuilder.newError()
+                    .message("Too many expensive queries running, retry later (cost " + cost + ")")
+                    .errorType(ErrorType.ExecutionAborted)
+                    .extensions(Map.of("retryable", true))
+                    .build();
+            throw new AbortExecutionException(List.of(error));
+        }
+        return SimpleInstrumentationContext.whenCompleted((result, throwable) -> expensiveQueries.release());
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+                                                                        InstrumentationExecutionParameters parameters,
+                                                                        InstrumentationState state) {
+        Map<String, Object> cost = new LinkedHashMap<>();
+        cost.put("estimated", ((CostState) state).cost);
+        cost.put("budget", properties.getMaxCost());
+        return CompletableFuture.completedFuture(executionResult.transform(builder -> builder.addExtension("cost", cost)));
+    }
+
+    private long cost(List<ExecutableNormalizedField> fields) {
+        long total = 0;
+        for (ExecutableNormalizedField field : fields) {
+            total = saturatedAdd(total, cost(field));
+        }
+        return total;
+    }
+
+    private long cost(ExecutableNormalizedField field) {
+        long children = cost(field.getChildren());
+        return saturatedAdd(1, saturatedMultiply(multiplier(field), children));
+    }
+
+    private long multiplier(ExecutableNormalizedField field) {
+        long multiplier = 1;
+        for (String typeName : field.getObjectTypeNames()) {
+            multiplier = Math.max(multiplier, multiplier(typeName + "." + field.getName(), field));
+        }
+        return multiplier;
+    }
+
+    private long multiplier(String coordinate, ExecutableNormalizedField field) {
+        return switch (coordinate) {
+            case "Query.allBooks" -> estimates.books();
+            case "Query.allAuthors", "Query.searchAuthors" -> estimates.authors();
+            case "Query.booksByAuthor", "Query.booksByAuthorName", "Author.books" -> estimates.booksPerAuthor();
+            case "Query.booksPaginated", "Query.authorsPaginated" -> intArgument(field, "size", 10);
+            case "Query.booksByIds" -> field.getResolvedArguments().get("ids") instanceof Collection<?> ids ? ids.size() : 1;
+            case "Query.booksConnection", "Query.authorsConnection" ->
+                    paginationProperties.clamp(field.getResolvedArguments().get("first") instanceof Integer first ? first : null);
+            default -> 1;
+        };
+    }
+
+    private static long intArgument(ExecutableNormalizedField field, String name, long defaultValue) {
+        return field.getResolvedArguments().get(name) instanceof Number number ? Math.max(number.longValue(), 0) : defaultValue;
+    }
+
+    // Estimates multiply quickly; clamp instead of overflowing into negative costs
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        return high != 0 || low < 0 ? Long.MAX_VALUE : low;
+    }
+}
@@ -0,0 +1,26 @@
+package com.asset.demo.graphql;
+
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Field names a client selected at one level of the result, for building column-pruned projections.
+ */
+public final class SelectedFields {
+
+    private SelectedFields() {
+    }
+
+    /**
+     * Names selected directly below {@code path} (e.g. {@code "edges/node"}); an empty path means the fetched field itself
+     */
+    public static Set<String> at(DataFetchingFieldSelectionSet selectionSet, String path) {
+        String glob = path.isEmpty() ? "*" : path + "/*";
+        return selectionSet.getFields(glob).stream()
+                .map(SelectedField::getName)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,144 @@
+package com.asset.demo.graphql;
+
+import com.asset.demo.events.EventDelivery;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import graphql.ExecutionResult;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.dataloader.DataLoaderRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Runs identical subscriptions once and shares what they emit. Subscriptions with the same document, operation
+ * name, variables, extensions and locale share one execution, so each event is resolved once, and its {@code data} is serialized
+ * to JSON once and handed to every session as a {@link RawValue}, which the transport writes out verbatim.
+ * Per session only the small {@code next} envelope around it is encoded.
+ * <p>
+ * Each session still gets its own bounded buffer, so a slow client does not hold back the others. Resumable
+ * subscriptions ({@code since}) are not shared, since each client replays from its own sequence, and neither
+ * are hash-only persisted queries, whose document is not known here. Queries and mutations pass through.
+ * <p>
+ * Limits: the shared execution keeps the {@code GraphQLContext} and instrumentation state of the session that
+ * started it, so resolvers under a subscription must not depend on who is asking. None does today; one that reads
+ * per-session context (e.g. a principal) needs that value in {@link Key}, or its subscription excluded here.
+ * The execution gets a DataLoader registry of its own rather than the starting session's, so no session's loaders
+ * outlive it or serve another.
+ */
+@Log4j2
+@RequiredArgsConstructor
+public class SharedSubscriptionInterceptor implements WebGraphQlInterceptor {
+
+    private static final Pattern SINCE_ARGUMENT = Pattern.compile("\\bsince\\s*:");
+
+    private final ObjectMapper objectMapper;
+    private final EventDelivery eventDelivery;
+    private final Supplier<DataLoaderRegistry> registries;
+
+    private final ConcurrentMap<Key, Flux<ExecutionResult>> executions = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        if (!isShareable(request)) {
+            return chain.next(request);
+        }
+        // Whichever session starts the shared execution, it must not run on that session's loaders
+        request.configureExecutionInput((executionInput, builder) ->
+                builder.dataLoaderRegistry(registries.get()).build());
+        Key key = new Key(request.getDocument(), request.getOperationName(), request.getVariables(),
+                request.getExtensions(), request.getLocale());
+        return chain.next(request).map(response -> {
+            // Only a subscription that started has a publisher; everything else passes through
+            if (!(response.getData() instanceof Publisher<?> results)) {
+                return response;
+            }
+            @SuppressWarnings("unchecked")
+            Flux<ExecutionResult> shared = executions.computeIfAbsent(key,
+                    ignored -> share(key, (Publisher<ExecutionResult>) results));
+            // This session's own execution is never subscribed, so it resolves nothing
+            Flux<ExecutionResult> own = eventDelivery.bounded(shared, Function.identity());
+            return response.transform(builder -> builder.data(own));
+        });
+    }
+
+    public int activeExecutions() {
+        return executions.size();
+    }
+
+    private static boolean isShareable(WebGraphQlRequest request) {
+        String document = request.getDocument();
+        if (PersistedQueryDocumentProvider.PERSISTED_QUERY_MARKER.equals(document)
+                || !document.contains("subscription")
+                || SINCE_ARGUMENT.matcher(document).find()) {
+            return false;
+        }
+        try {
+            OperationDefinition operation = operation(Parser.parse(document), request.getOperationName());
+            return operation != null && operation.getOperation() == OperationDefinition.Operation.SUBSCRIPTION;
+        } catch (InvalidSyntaxException e) {
+            // Left to the regular execution to report
+            return false;
+        }
+    }
+
+    private static OperationDefinition operation(Document document, String operationName) {
+        List<OperationDefinition> operations = document.getDefinitionsOfType(OperationDefinition.class);
+        if (operationName == null || operationName.isEmpty()) {
+            return operations.size() == 1 ? operations.get(0) : null;
+        }
+        return operations.stream()
+                .filter(operation -> operationName.equals(operation.getName()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private Flux<ExecutionResult> share(Key key, Publisher<ExecutionResult> results) {
+        AtomicReference<Flux<ExecutionResult>> self = new AtomicReference<>();
+        Flux<ExecutionResult> shared = Flux.from(results)
+                .map(this::encodeData)
+                // The last session left, or the stream ended: the next identical subscription starts afresh
+                .doFinally(signal -> executions.remove(key, self.get()))
+                .publish()
+                .refCount();
+        self.set(shared);
+        return shared;
+    }
+
+    private ExecutionResult encodeData(ExecutionResult result) {
+        if (result.getData() == null) {
+            return result;
+        }
+        try {
+            RawValue data = new RawValue(objectMapper.writeValueAsString(result.getData()));
+            return result.transform(builder -> builder.data(data));
+        } catch (JsonProcessingException e) {
+            // Leave it to the transport to encode per session
+            log.warn("Could not pre-encode subscription result", e);
+            return result;
+        }
+    }
+
+    private record Key(String document, String operationName, Map<String, Object> variables,
+                       Map<String, Object> extensions, Locale locale) {
+    }
+}
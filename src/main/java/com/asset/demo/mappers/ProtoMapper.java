@@ -0,0 +1,134 @@
+package com.asset.demo.mappers;
+
+import com.asset.demo.entities.Author;
+import com.asset.demo.entities.Book;
+import com.asset.demo.events.AuthorSnapshot;
+import com.asset.demo.events.BookSnapshot;
+import com.asset.demo.events.ChangeEvent;
+import com.asset.demo.grpc.AuthorListResponse;
+import com.asset.demo.grpc.AuthorMessage;
+import com.asset.demo.grpc.BookListResponse;
+import com.asset.demo.grpc.BookMessage;
+import com.asset.demo.grpc.ChangeType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Entity to protobuf mapping shared by the gRPC services.
+ * <p>
+ * List responses map books through an {@link AuthorInterner}, so all books of one author
+ * reference a single {@link AuthorMessage}. It is built once per response, and protobuf memoizes
+ * its serialized size, so it is not rebuilt or re-measured for every book.
+ */
+public final class ProtoMapper {
+
+    private ProtoMapper() {
+    }
+
+    public static AuthorMessage toProto(Author author) {
+        return AuthorMessage.newBuilder()
+                .setId(author.getId())
+                .setName(author.getName())
+                .setEmail(author.getEmail() != null ? author.getEmail() : "")
+                .setBio(author.getBio() != null ? author.getBio() : "")
+                .build();
+    }
+
+    public static BookMessage toProto(Book book) {
+        return toProto(book, book.getAuthor() != null ? toProto(book.getAuthor()) : null);
+    }
+
+    public static AuthorMessage toProto(AuthorSnapshot author) {
+        return AuthorMessage.newBuilder()
+                .setId(author.id())
+                .setName(author.name() != null ? author.name() : "")
+                .setEmail(author.email() != null ? author.email() : "")
+                .setBio(author.bio() != null ? author.bio() : "")
+                .build();
+    }
+
+    /**
+     * A snapshot taken without its author loaded carries an author message with only the ID
+     */
+    public static BookMessage toProto(BookSnapshot book) {
+        BookMessage.Builder builder = BookMessage.newBuilder()
+                .setId(book.id())
+                .setTitle(book.title() != null ? book.title() : "")
+                .setIsbn(book.isbn() != null ? book.isbn() : "")
+                .setPrice(book.price() != null ? book.price() : 0);
+        if (book.author() != null) {
+            builder.setAuthor(toProto(book.author()));
+        } else if (book.authorId() != null) {
+            builder.setAuthor(AuthorMessage.newBuilder().setId(book.authorId()));
+        }
+        return builder.build();
+    }
+
+    public static ChangeType toProto(ChangeEvent.Type type) {
+        return switch (type) {
+            case BOOK_CREATED, AUTHOR_CREATED -> ChangeType.CREATED;
+            case BOOK_UPDATED, AUTHOR_UPDATED -> ChangeType.UPDATED;
+            case BOOK_DELETED -> ChangeType.DELETED;
+        };
+    }
+
+    public static BookListResponse toBookListResponse(Iterable<Book> books) {
+        return toBookListResponse(books, "");
+    }
+
+    public static BookListResponse toBookListResponse(Iterable<Book> books, String nextPageToken) {
+        AuthorInterner authors = new AuthorInterner();
+        BookListResponse.Builder builder = BookListResponse.newBuilder()
+                .setNextPageToken(nextPageToken);
+        for (Book book : books) {
+            builder.addBooks(authors.toProto(book));
+        }
+        return builder.build();
+    }
+
+    public static AuthorListResponse toAuthorListResponse(Iterable<Author> authors) {
+        return toAuthorListResponse(authors, "");
+    }
+
+    public static AuthorListResponse toAuthorListResponse(Iterable<Author> authors, String nextPageToken) {
+        AuthorListResponse.Builder builder = AuthorListResponse.newBuilder()
+                .setNextPageToken(nextPageToken);
+        for (Author author : authors) {
+            builder.addAuthors(toProto(author));
+        }
+        return builder.build();
+    }
+
+    /**
+     * A book without an author gets no author message
+     */
+    private static BookMessage toProto(Book book, AuthorMessage author) {
+        BookMessage.Builder builder = BookMessage.newBuilder()
+                .setId(book.getId())
+                .setTitle(book.getTitle())
+                .setIsbn(book.getIsbn() != null ? book.getIsbn() : "")
+                .setPrice(book.getPrice());
+        if (author != null) {
+            builder.setAuthor(author);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Memoizes {@link AuthorMessage}s by author ID for the lifetime of one response or stream.
+     * Not thread-safe; create one per call.
+     */
+    public static final class AuthorInterner {
+
+        private final Map<Long, AuthorMessage> authors = new HashMap<>();
+
+        public AuthorMessage intern(Author author) {
+            return authors.computeIfAbsent(author.getId(), id -> ProtoMapper.toProto(author));
+        }
+
+        public BookMessage toProto(Book book) {
+            return ProtoMapper.toProto(book, book.getAuthor() != null ? intern(book.getAuthor()) : null);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.asset.demo.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * One keyset page cut from a {@link #fetch(int)} query. The query asks for one row more than the page size;
+ * that extra row tells whether another page exists, without a count query.
+ *
+ * @param items      at most {@code limit} rows, in id order
+ * @param nextCursor cursor of the next page, {@code null} on the last page
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * The page request to run for a page of {@code limit} rows
+     */
+    public static Pageable fetch(int limit) {
+        return PageRequest.ofSize(limit + 1);
+    }
+
+    /**
+     * @param rows rows returned for {@link #fetch(int) fetch(limit)}
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, ToLongFunction<T> idOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, KeysetCursor.encode(idOf.applyAsLong(items.get(limit - 1))));
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -6,8 +6,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,6 +20,10 @@ public interface AuthorRepository extends JpaRepository<Author, Long> {
     // Pagination support
     Page<Author> findAll(Pageable pageable);
 
+    // Keyset page: rows after the cursor id, no OFFSET scan and no count query
+    @Query("SELECT a FROM Author a WHERE a.id > :afterId ORDER BY a.id")
+    List<Author> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
     // Prevent N+1 problem - fetch author with books in single query
     @EntityGraph(attributePaths = {"books"})
     @Query("SELECT a FROM Author a WHERE a.id = :id")
@@ -1,23 +1,47 @@
 package com.asset.demo.repositories;
 
 import com.asset.demo.entities.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
-    // Find books by author ID
+    // Find books by author ID (query cache; invalidated whenever the book table changes)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Book> findByAuthorId(Long authorId);
 
+    // Same, with authors fetched in the same select for callers that render them
+    @EntityGraph(attributePaths = {"author"})
+    List<Book> findWithAuthorByAuthorId(Long authorId);
+
     // Find books by author name
     List<Book> findByAuthorName(String authorName);
 
+    // Same, with authors fetched in the same select for callers that render them
+    @EntityGraph(attributePaths = {"author"})
+    List<Book> findWithAuthorByAuthorName(String authorName);
+
+    // Single book with its author in one select
+    @EntityGraph(attributePaths = {"author"})
+    Optional<Book> findWithAuthorById(Long id);
+
+    // Batch get: books with their authors for one chunk of IDs
+    @EntityGraph(attributePaths = {"author"})
+    @Query("SELECT b FROM Book b WHERE b.id IN :ids")
+    List<Book> findAllWithAuthorByIdIn(@Param("ids") Collection<Long> ids);
+
     // Alternative: Find books by author name (case-insensitive)
     List<Book> findByAuthorNameIgnoreCase(String authorName);
 
@@ -34,4 +58,28 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     List<Book> findAllByAuthorIds(@Param("authorIds") Collection<Long> authorIds);
 
     boolean existsByIsbn(String isbn);
+
+    // Batch uniqueness check: which of these ISBNs are already taken
+    @Query("SELECT b.isbn FROM Book b WHERE b.isbn IN :isbns")
+    List<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
+
+    // Keyset page: rows after the cursor id, no OFFSET scan and no count query
+    @Query("SELECT b FROM Book b WHERE b.id > :afterId ORDER BY b.id")
+    List<Book> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Keyset page with authors joined, for callers that render them; books without an author are kept
+    @Query("SELECT b FROM Book b LEFT JOIN FETCH b.author WHERE b.id > :afterId ORDER BY b.id")
+    List<Book> findPageWithAuthorsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Keyset chunk of an author's books, used to stream without loading the whole list
+    @Query("SELECT b FROM Book b JOIN FETCH b.author WHERE b.author.id = :authorId AND b.id > :afterId ORDER BY b.id")
+    List<Book> findByAuthorIdAfter(@Param("authorId") Long authorId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // Cursor over the whole catalog for streaming exports; consume inside a transaction and close it
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Book b ORDER BY b.id")
+    Stream<Book> streamAll();
 }
@@ -0,0 +1,29 @@
+package com.asset.demo.repositories;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+/**
+ * Tells a unique-constraint violation apart from the other integrity violations (foreign keys, not-null, ...)
+ */
+public final class DuplicateKeys {
+
+    // SQL standard state for a unique violation (H2, PostgreSQL)
+    private static final String UNIQUE_VIOLATION_STATE = "23505";
+    // ORA-00001: unique constraint violated; Oracle reports the generic 23000 state for it
+    private static final int ORACLE_UNIQUE_VIOLATION = 1;
+
+    private DuplicateKeys() {
+    }
+
+    public static boolean isDuplicateKey(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql) {
+                return UNIQUE_VIOLATION_STATE.equals(sql.getSQLState())
+                        || sql.getErrorCode() == ORACLE_UNIQUE_VIOLATION && "23000".equals(sql.getSQLState());
+            }
+        }
+        return false;
+    }
+}
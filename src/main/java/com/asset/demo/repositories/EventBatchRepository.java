@@ -0,0 +1,29 @@
+package com.asset.demo.repositories;
+
+import com.asset.demo.entities.EventBatch;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface EventBatchRepository extends JpaRepository<EventBatch, Long> {
+
+    // Batches after the watermark, each paired with the database clock so settling never mixes in the local one
+    @Query("SELECT e, CURRENT_TIMESTAMP FROM EventBatch e WHERE e.id > :afterId ORDER BY e.id")
+    List<Object[]> findAfterWithDatabaseTime(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM EventBatch e")
+    long findMaxId();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EventBatch e WHERE e.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") Instant before);
+}
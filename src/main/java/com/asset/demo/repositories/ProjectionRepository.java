@@ -0,0 +1,150 @@
+package com.asset.demo.repositories;
+
+import com.asset.demo.entities.Author;
+import com.asset.demo.entities.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Column-pruned reads: selects only the requested columns (plus {@code id}) and joins the author only when
+ * author fields are requested. Results are transient, partially populated {@link Book}/{@link Author}
+ * instances; they are meant for rendering only and must never be saved.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProjectionRepository {
+
+    // Selectable columns per entity; other requested names (relations, __typename) are ignored
+    private static final Map<String, BiConsumer<Book, Object>> BOOK_COLUMNS = Map.of(
+            "id", (book, value) -> book.setId((Long) value),
+            "title", (book, value) -> book.setTitle((String) value),
+            "isbn", (book, value) -> book.setIsbn((String) value),
+            "price", (book, value) -> book.setPrice((Double) value));
+
+    private static final Map<String, BiConsumer<Author, Object>> AUTHOR_COLUMNS = Map.of(
+            "id", (author, value) -> author.setId((Long) value),
+            "name", (author, value) -> author.setName((String) value),
+            "email", (author, value) -> author.setEmail((String) value),
+            "bio", (author, value) -> author.setBio((String) value));
+
+    private static final String BOOK_ALIAS = "b_";
+    private static final String AUTHOR_ALIAS = "a_";
+
+    private final EntityManager entityManager;
+
+    /**
+     * Books ordered by id, with only {@code bookFields} populated; {@code authorFields} empty means no join
+     * and a {@code null} author.
+     */
+    public List<Book> findBooks(Set<String> bookFields, Set<String> authorFields,
+                                Specification<Book> filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> book = query.from(Book.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        Set<String> bookColumns = columns(bookFields, BOOK_COLUMNS);
+        select(book, bookColumns, BOOK_ALIAS, selections);
+
+        Set<String> authorColumns = authorFields.isEmpty() ? Set.of() : columns(authorFields, AUTHOR_COLUMNS);
+        if (!authorColumns.isEmpty()) {
+            Join<Book, Author> author = book.join("author", JoinType.LEFT);
+            select(author, authorColumns, AUTHOR_ALIAS, selections);
+        }
+
+        List<Tuple> rows = execute(query, book, selections, filter, pageable);
+        List<Book> books = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Book result = populate(row, bookColumns, BOOK_ALIAS, BOOK_COLUMNS, Book::new);
+            // LEFT JOIN: a book without author comes back with a null author id
+            if (!authorColumns.isEmpty() && row.get(AUTHOR_ALIAS + "id") != null) {
+                result.setAuthor(populate(row, authorColumns, AUTHOR_ALIAS, AUTHOR_COLUMNS, Author::new));
+            }
+            books.add(result);
+        }
+        return books;
+    }
+
+    /**
+     * Authors ordered by id, with only {@code authorFields} populated. {@code books} is never loaded here.
+     */
+    public List<Author> findAuthors(Set<String> authorFields, Specification<Author> filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Author> author = query.from(Author.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        Set<String> authorColumns = columns(authorFields, AUTHOR_COLUMNS);
+        select(author, authorColumns, AUTHOR_ALIAS, selections);
+
+        return execute(query, author, selections, filter, pageable).stream()
+                .map(row -> populate(row, authorColumns, AUTHOR_ALIAS, AUTHOR_COLUMNS, Author::new))
+                .toList();
+    }
+
+    private <T> List<Tuple> execute(CriteriaQuery<Tuple> query, Root<T> root, List<Selection<?>> selections,
+                                    Specification<T> filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        query.multiselect(selections);
+        Predicate predicate = filter == null ? null : filter.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+
+    // Requested names that are columns, always including the id (cursors and DataLoader keys need it)
+    private static Set<String> columns(Set<String> requested, Map<String, ?> columns) {
+        Set<String> result = new LinkedHashSet<>();
+        result.add("id");
+        for (String field : requested) {
+            if (columns.containsKey(field)) {
+                result.add(field);
+            }
+        }
+        return result;
+    }
+
+    private static void select(From<?, ?> from, Set<String> columns, String alias, List<Selection<?>> selections) {
+        for (String column : columns) {
+            selections.add(from.get(column).alias(alias + column));
+        }
+    }
+
+    private static <T> T populate(Tuple row, Set<String> columns, String alias,
+                                  Map<String, BiConsumer<T, Object>> setters, Supplier<T> factory) {
+        T target = factory.get();
+        for (String column : columns) {
+            setters.get(column).accept(target, row.get(alias + column));
+        }
+        return target;
+    }
+}
@@ -1,26 +1,39 @@
 package com.asset.demo.services;
 
 import com.asset.demo.grpc.AuthorIdRequest;
+import com.asset.demo.grpc.AuthorIdsRequest;
 import com.asset.demo.grpc.AuthorListResponse;
+import com.asset.demo.grpc.AuthorLookup;
+import com.asset.demo.grpc.AuthorsByIdsResponse;
 import com.asset.demo.grpc.AuthorServiceGrpc;
 import com.asset.demo.grpc.CreateAuthorRequest;
+import com.asset.demo.grpc.ListAuthorsRequest;
 import com.asset.demo.grpc.UpdateAuthorRequest;
+import com.asset.demo.grpc.WatchAuthorsRequest;
 import lombok.RequiredArgsConstructor;
 import net.devh.boot.grpc.server.service.GrpcService;
 
+import com.asset.demo.configs.PaginationProperties;
 import com.asset.demo.entities.Author;
-import com.asset.demo.entities.Book;
+import com.asset.demo.events.AuthorEventPublisher;
+import com.asset.demo.events.AuthorSnapshot;
+import com.asset.demo.events.ChangeEvent;
+import com.asset.demo.events.EventDelivery;
+import com.asset.demo.grpc.AuthorChangeEvent;
 import com.asset.demo.grpc.AuthorMessage;
 import com.asset.demo.grpc.BookListResponse;
-import com.asset.demo.grpc.BookMessage;
 import com.asset.demo.grpc.DeleteResponse;
-import com.asset.demo.grpc.EmptyRequest;
+import com.asset.demo.mappers.ProtoMapper;
+import com.asset.demo.pagination.KeysetCursor;
+import com.asset.demo.pagination.KeysetPage;
 import com.asset.demo.repositories.AuthorRepository;
 import com.asset.demo.repositories.BookRepository;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @RequiredArgsConstructor
 @GrpcService
@@ -28,17 +41,28 @@ public class AuthorGrpcService extends AuthorServiceGrpc.AuthorServiceImplBase {
 
     private final AuthorRepository authorRepository;
     private final BookRepository bookRepository;
-
+    private final PaginationProperties paginationProperties;
+    private final AuthorEventPublisher authorEventPublisher;
+    private final EventDelivery eventDelivery;
+    private final BatchGetService batchGetService;
 
     @Override
-    public void getAllAuthors(EmptyRequest request, StreamObserver<AuthorListResponse> responseObserver) {
-        List<AuthorMessage> authors = authorRepository.findAll().stream()
-                .map(this::toProto)
-                .collect(Collectors.toList());
+    public void getAllAuthors(ListAuthorsRequest request, StreamObserver<AuthorListResponse> responseObserver) {
+        long afterId;
+        try {
+            afterId = KeysetCursor.decode(request.getPageToken());
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(io.grpc.Status.INVALID_ARGUMENT
+                    .withDescription("Invalid page token")
+                    .asRuntimeException());
+            return;
+        }
+        int pageSize = paginationProperties.clamp(request.getPageSize());
 
-        AuthorListResponse response = AuthorListResponse.newBuilder()
-                .addAllAuthors(authors)
-                .build();
+        KeysetPage<Author> page = KeysetPage.of(
+                authorRepository.findPageAfter(afterId, KeysetPage.fetch(pageSize)), pageSize, Author::getId);
+
+        AuthorListResponse response = ProtoMapper.toAuthorListResponse(page.items(), page.hasNext() ? page.nextCursor() : "");
 
         responseObserver.onNext(response);
         responseObserver.onCompleted();
@@ -49,7 +73,7 @@ public class AuthorGrpcService extends AuthorServiceGrpc.AuthorServiceImplBase {
         authorRepository.findById(request.getId())
                 .ifPresentOrElse(
                         author -> {
-                            responseObserver.onNext(toProto(author));
+                            responseObserver.onNext(ProtoMapper.toProto(author));
                             responseObserver.onCompleted();
                         },
                         () -> responseObserver.onError(
@@ -60,6 +84,30 @@ public class AuthorGrpcService extends AuthorServiceGrpc.AuthorServiceImplBase {
                 );
     }
 
+    @Override
+    public void getAuthorsByIds(AuthorIdsRequest request, StreamObserver<AuthorsByIdsResponse> responseObserver) {
+        if (request.getIdsCount() > paginationProperties.getMaxBatchIds()) {
+            responseObserver.onError(io.grpc.Status.INVALID_ARGUMENT
+                    .withDescription("At most " + paginationProperties.getMaxBatchIds() + " ids per request")
+                    .asRuntimeException());
+            return;
+        }
+        List<Long> ids = request.getIdsList();
+        List<Author> authors = batchGetService.authorsByIds(ids);
+
+        AuthorsByIdsResponse.Builder response = AuthorsByIdsResponse.newBuilder();
+        for (int i = 0; i < ids.size(); i++) {
+            AuthorLookup.Builder result = AuthorLookup.newBuilder().setId(ids.get(i));
+            if (authors.get(i) != null) {
+                result.setFound(true).setAuthor(ProtoMapper.toProto(authors.get(i)));
+            }
+            response.addResults(result);
+        }
+
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
     @Override
     public void createAuthor(CreateAuthorRequest request, StreamObserver<AuthorMessage> responseObserver) {
         Author author = Author.builder()
@@ -69,7 +117,7 @@ public class AuthorGrpcService extends AuthorServiceGrpc.AuthorServiceImplBase {
                 .build();
 
         Author saved = authorRepository.save(author);
-        responseObserver.onNext(toProto(saved));
+        responseObserver.onNext(ProtoMapper.toProto(saved));
         responseObserver.onCompleted();
     }
 
@@ -83,7 +131,7 @@ public class AuthorGrpcService extends AuthorServiceGrpc.AuthorServiceImplBase {
                             if (!request.getBio().isEmpty()) author.setBio(request.getBio());
 
                             Author updated = authorRepository.save(author);
-                            responseObserver.onNext(toProto(updated));
+                            responseObserver.onNext(ProtoMapper.toProto(updated));
                             responseObserver.onCompleted();
                         },
                         () -> responseObserver.onError(
@@ -111,34 +159,25 @@ public class AuthorGrpcService extends AuthorServiceGrpc.AuthorServiceImplBase {
 
     @Override
     public void getAuthorBooks(AuthorIdRequest request, StreamObserver<BookListResponse> responseObserver) {
-        List<BookMessage> books = bookRepository.findByAuthorId(request.getId()).stream()
-                .map(this::bookToProto)
-                .collect(Collectors.toList());
-
-        BookListResponse response = BookListResponse.newBuilder()
-                .addAllBooks(books)
-                .build();
+        BookListResponse response = ProtoMapper.toBookListResponse(bookRepository.findWithAuthorByAuthorId(request.getId()));
 
         responseObserver.onNext(response);
         responseObserver.onCompleted();
     }
 
-    private AuthorMessage toProto(Author author) {
-        return AuthorMessage.newBuilder()
-                .setId(author.getId())
-                .setName(author.getName())
-                .setEmail(author.getEmail() != null ? author.getEmail() : "")
-                .setBio(author.getBio() != null ? author.getBio() : "")
-                .build();
-    }
-
-    private BookMessage bookToProto(Book book) {
-        return BookMessage.newBuilder()
-                .setId(book.getId())
-                .setTitle(book.getTitle())
-                .setIsbn(book.getIsbn())
-                .setPrice(book.getPrice())
-                .setAuthor(toProto(book.getAuthor()))
-                .build();
+    @Override
+    public void watchAuthors(WatchAuthorsRequest request, StreamObserver<AuthorChangeEvent> responseObserver) {
+        Set<Long> authorIds = Set.copyOf(request.getAuthorIdsList());
+
+        Flux<ChangeEvent> changes = authorEventPublisher.getChangeFlux()
+                .filter(event -> authorIds.isEmpty() || authorIds.contains(event.getId()));
+
+        ChangeFeedSubscriber.watch(eventDelivery.bounded(changes, ChangeEvent::entityKey),
+                (ServerCallStreamObserver<AuthorChangeEvent>) responseObserver,
+                event -> AuthorChangeEvent.newBuilder()
+                        .setType(ProtoMapper.toProto(event.getType()))
+                        .setId(event.getId())
+                        .setAuthor(ProtoMapper.toProto((AuthorSnapshot) event.getPayload()))
+                        .build());
     }
 }
@@ -0,0 +1,56 @@
+package com.asset.demo.services;
+
+import com.asset.demo.configs.DataLoaderConfig;
+import com.asset.demo.entities.Author;
+import com.asset.demo.entities.Book;
+import com.asset.demo.repositories.AuthorRepository;
+import com.asset.demo.repositories.BookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Batch get by ID list, shared by the gRPC, REST and GraphQL endpoints: one IN query per chunk of
+ * {@link DataLoaderConfig#MAX_IN_LIST} distinct IDs instead of one round trip per ID.
+ * Results are aligned with the requested IDs: same order, repeated IDs repeated, {@code null} where no row exists
+ * (including for a {@code null} ID).
+ */
+@RequiredArgsConstructor
+@Service
+public class BatchGetService {
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+
+    /**
+     * Books with their authors loaded
+     */
+    public List<Book> booksByIds(List<Long> ids) {
+        return aligned(ids, bookRepository::findAllWithAuthorByIdIn, Book::getId);
+    }
+
+    public List<Author> authorsByIds(List<Long> ids) {
+        return aligned(ids, authorRepository::findAllById, Author::getId);
+    }
+
+    private static <T> List<T> aligned(List<Long> ids, Function<List<Long>, List<T>> query, Function<T, Long> idOf) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, T> found = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += DataLoaderConfig.MAX_IN_LIST) {
+            for (T row : query.apply(distinct.subList(from, Math.min(from + DataLoaderConfig.MAX_IN_LIST, distinct.size())))) {
+                found.put(idOf.apply(row), row);
+            }
+        }
+        List<T> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            result.add(found.get(id));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,118 @@
+package com.asset.demo.services;
+
+import com.asset.demo.entities.Author;
+import com.asset.demo.entities.Book;
+import com.asset.demo.grpc.CreateBookRequest;
+import com.asset.demo.repositories.AuthorRepository;
+import com.asset.demo.repositories.BookRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk-ingest path for streamed book creation: one author lookup and one JDBC batch per chunk.
+ */
+@RequiredArgsConstructor
+@Service
+public class BookBatchWriter {
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final EntityManager entityManager;
+
+    public static final String AUTHOR_NOT_FOUND = "Author not found";
+    public static final String ISBN_EXISTS = "ISBN already exists";
+
+    /**
+     * Result of one create request of a chunk; {@code book} is set on success, {@code error} otherwise.
+     */
+    public record Outcome(CreateBookRequest request, Book book, String error) {
+
+        static Outcome created(CreateBookRequest request, Book book) {
+            return new Outcome(request, book, null);
+        }
+
+        static Outcome failed(CreateBookRequest request, String error) {
+            return new Outcome(request, null, error);
+        }
+
+        public boolean success() {
+            return book != null;
+        }
+    }
+
+    /**
+     * Insert a chunk in one transaction. All referenced authors are resolved with a single
+     * {@code IN} query and the books are flushed as JDBC batches (hibernate.jdbc.batch_size).
+     * ISBNs that already exist are rejected: those in {@code knownIsbns} without a query,
+     * the rest with one {@code IN} query.
+     * The unique constraint on {@code isbn} still guards against concurrent writers, in which case
+     * a {@link org.springframework.dao.DataIntegrityViolationException} rolls back the whole chunk.
+     * Requests without an ISBN are never rejected as duplicates.
+     *
+     * @param knownIsbns ISBNs already taken, typically those seen earlier on the same stream
+     * @return one outcome per request, in request order
+     */
+    @Transactional
+    public List<Outcome> insertUniqueChunk(List<CreateBookRequest> requests, Set<String> knownIsbns) {
+        Map<Long, Author> authors = findAuthors(requests);
+        Set<String> unknown = requests.stream()
+                .map(request -> Book.isbnOrNull(request.getIsbn()))
+                .filter(isbn -> isbn != null && !knownIsbns.contains(isbn))
+                .collect(Collectors.toSet());
+        Set<String> taken = new HashSet<>(unknown.isEmpty() ? List.of() : bookRepository.findExistingIsbns(unknown));
+
+        List<Outcome> outcomes = new ArrayList<>(requests.size());
+        for (CreateBookRequest request : requests) {
+            Author author = authors.get(request.getAuthorId());
+            String isbn = Book.isbnOrNull(request.getIsbn());
+            if (author == null) {
+                outcomes.add(Outcome.failed(request, AUTHOR_NOT_FOUND));
+            } else if (isbn != null && (knownIsbns.contains(isbn) || !taken.add(isbn))) {
+                // Also catches duplicates within the chunk itself; books without an ISBN never collide
+                outcomes.add(Outcome.failed(request, ISBN_EXISTS));
+            } else {
+                outcomes.add(Outcome.created(request, toBook(request, author)));
+            }
+        }
+        return save(outcomes);
+    }
+
+    private Map<Long, Author> findAuthors(Collection<CreateBookRequest> requests) {
+        Set<Long> authorIds = requests.stream()
+                .map(CreateBookRequest::getAuthorId)
+                .collect(Collectors.toSet());
+        return authorRepository.findAllById(authorIds).stream()
+                .collect(Collectors.toMap(Author::getId, Function.identity()));
+    }
+
+    private List<Outcome> save(List<Outcome> outcomes) {
+        List<Book> books = outcomes.stream()
+                .filter(Outcome::success)
+                .map(Outcome::book)
+                .toList();
+        // Send the batch now and detach the chunk so a long import does not grow the persistence context
+        bookRepository.saveAllAndFlush(books);
+        entityManager.clear();
+        return outcomes;
+    }
+
+    private static Book toBook(CreateBookRequest request, Author author) {
+        return Book.builder()
+                .title(request.getTitle())
+                .isbn(Book.isbnOrNull(request.getIsbn()))
+                .price(request.getPrice())
+                .author(author)
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.asset.demo.services;
+
+import com.asset.demo.entities.Book;
+import com.asset.demo.repositories.BookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Full-catalog export as newline-delimited JSON, read from a database cursor so heap use
+ * stays flat regardless of catalog size.
+ */
+@Log4j2
+@Service
+public class BookExportService {
+
+    private static final int CLEAR_EVERY = 1000;
+
+    private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter bookWriter;
+
+    public BookExportService(BookRepository bookRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.bookRepository = bookRepository;
+        this.entityManager = entityManager;
+        this.bookWriter = objectMapper.writerFor(Book.class);
+    }
+
+    /**
+     * Write every book as one JSON line. The transaction keeps the cursor open while streaming;
+     * the persistence context is cleared periodically so exported rows can be collected.
+     */
+    @Transactional(readOnly = true)
+    public void writeNdjson(OutputStream target) throws IOException {
+        OutputStream out = new BufferedOutputStream(target, 64 * 1024);
+        long count = 0;
+        try (Stream<Book> books = bookRepository.streamAll()) {
+            Iterator<Book> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                out.write(bookWriter.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+                if (++count % CLEAR_EVERY == 0) {
+                    entityManager.clear();
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+        log.debug("Exported {} books as NDJSON", count);
+    }
+}
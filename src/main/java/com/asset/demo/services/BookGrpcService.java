@@ -1,30 +1,57 @@
 package com.asset.demo.services;
 
-import com.asset.demo.entities.Author;
+import com.asset.demo.configs.GrpcProperties;
+import com.asset.demo.configs.PaginationProperties;
 import com.asset.demo.entities.Book;
+import com.asset.demo.events.BookEventPublisher;
+import com.asset.demo.events.BookSnapshot;
+import com.asset.demo.events.ChangeEvent;
+import com.asset.demo.events.EventDelivery;
+import com.asset.demo.grpc.BookChangeEvent;
 import com.asset.demo.grpc.AuthorIdRequest;
-import com.asset.demo.grpc.AuthorMessage;
 import com.asset.demo.grpc.AuthorSearchRequest;
 import com.asset.demo.grpc.BookCreationResult;
 import com.asset.demo.grpc.BookIdRequest;
+import com.asset.demo.grpc.BookIdsRequest;
 import com.asset.demo.grpc.BookListResponse;
+import com.asset.demo.grpc.BookLookup;
 import com.asset.demo.grpc.BookMessage;
 import com.asset.demo.grpc.BookServiceGrpc;
+import com.asset.demo.grpc.BooksByIdsResponse;
 import com.asset.demo.grpc.CreateBookRequest;
 import com.asset.demo.grpc.DeleteResponse;
-import com.asset.demo.grpc.EmptyRequest;
+import com.asset.demo.grpc.ListBooksRequest;
 import com.asset.demo.grpc.UpdateBookRequest;
+import com.asset.demo.grpc.WatchBooksRequest;
+import com.asset.demo.mappers.ProtoMapper;
+import com.asset.demo.pagination.KeysetCursor;
+import com.asset.demo.pagination.KeysetPage;
 import com.asset.demo.repositories.AuthorRepository;
 import com.asset.demo.repositories.BookRepository;
+import com.asset.demo.repositories.DuplicateKeys;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Flux;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Log4j2
 @RequiredArgsConstructor
@@ -32,16 +59,40 @@ import java.util.stream.Collectors;
 public class BookGrpcService extends BookServiceGrpc.BookServiceImplBase {
     private final BookRepository bookRepository;
     private final AuthorRepository authorRepository;
+    private final BookBatchWriter bookBatchWriter;
+    private final GrpcProperties grpcProperties;
+    private final PaginationProperties paginationProperties;
+    private final BookEventPublisher bookEventPublisher;
+    private final EventDelivery eventDelivery;
+    private final BatchGetService batchGetService;
+
+    // Runs the linger flushes of BulkCreateBooksStream, which insert and may block on the database
+    private final ExecutorService lingerExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bulk-linger-", 0).factory());
+
+    @PreDestroy
+    void stopLingerExecutor() {
+        lingerExecutor.shutdown();
+    }
 
     @Override
-    public void getAllBooks(EmptyRequest request, StreamObserver<BookListResponse> responseObserver) {
-        List<BookMessage> books = bookRepository.findAll().stream()
-                .map(this::toProto)
-                .collect(Collectors.toList());
+    public void getAllBooks(ListBooksRequest request, StreamObserver<BookListResponse> responseObserver) {
+        long afterId;
+        try {
+            afterId = KeysetCursor.decode(request.getPageToken());
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(io.grpc.Status.INVALID_ARGUMENT
+                    .withDescription("Invalid page token")
+                    .asRuntimeException());
+            return;
+        }
+        int pageSize = paginationProperties.clamp(request.getPageSize());
 
-        BookListResponse response = BookListResponse.newBuilder()
-                .addAllBooks(books)
-                .build();
+        // Authors are joined because every message carries one
+        KeysetPage<Book> page = KeysetPage.of(
+                bookRepository.findPageWithAuthorsAfter(afterId, KeysetPage.fetch(pageSize)), pageSize, Book::getId);
+
+        BookListResponse response = ProtoMapper.toBookListResponse(page.items(), page.hasNext() ? page.nextCursor() : "");
 
         responseObserver.onNext(response);
         responseObserver.onCompleted();
@@ -49,10 +100,10 @@ public class BookGrpcService extends BookServiceGrpc.BookServiceImplBase {
 
     @Override
     public void getBook(BookIdRequest request, StreamObserver<BookMessage> responseObserver) {
-        bookRepository.findById(request.getId())
+        bookRepository.findWithAuthorById(request.getId())
                 .ifPresentOrElse(
                         book -> {
-                            responseObserver.onNext(toProto(book));
+                            responseObserver.onNext(ProtoMapper.toProto(book));
                             responseObserver.onCompleted();
                         },
                         () -> responseObserver.onError(
@@ -63,6 +114,32 @@ public class BookGrpcService extends BookServiceGrpc.BookServiceImplBase {
                 );
     }
 
+    @Override
+    public void getBooksByIds(BookIdsRequest request, StreamObserver<BooksByIdsResponse> responseObserver) {
+        if (request.getIdsCount() > paginationProperties.getMaxBatchIds()) {
+            responseObserver.onError(io.grpc.Status.INVALID_ARGUMENT
+                    .withDescription("At most " + paginationProperties.getMaxBatchIds() + " ids per request")
+                    .asRuntimeException());
+            return;
+        }
+        List<Long> ids = request.getIdsList();
+        List<Book> books = batchGetService.booksByIds(ids);
+
+        // Books of the same author share one AuthorMessage, as in list responses
+        ProtoMapper.AuthorInterner authors = new ProtoMapper.AuthorInterner();
+        BooksByIdsResponse.Builder response = BooksByIdsResponse.newBuilder();
+        for (int i = 0; i < ids.size(); i++) {
+            BookLookup.Builder result = BookLookup.newBuilder().setId(ids.get(i));
+            if (books.get(i) != null) {
+                result.setFound(true).setBook(authors.toProto(books.get(i)));
+            }
+            response.addResults(result);
+        }
+
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
     @Override
     public void createBook(CreateBookRequest request, StreamObserver<BookMessage> responseObserver) {
         authorRepository.findById(request.getAuthorId())
@@ -75,8 +152,14 @@ public class BookGrpcService extends BookServiceGrpc.BookServiceImplBase {
                                     .author(author)
                                     .build();
 
-                            Book saved = bookRepository.save(book);
-                            responseObserver.onNext(toProto(saved));
+                            Book saved;
+                            try {
+                                saved = bookRepository.save(book);
+                            } catch (DataIntegrityViolationException e) {
+                                responseObserver.onError(integrityError(e));
+                                return;
+                            }
+                            responseObserver.onNext(ProtoMapper.toProto(saved));
                             responseObserver.onCompleted();
                         },
                         () -> responseObserver.onError(
@@ -89,7 +172,7 @@ public class BookGrpcService extends BookServiceGrpc.BookServiceImplBase {
 
     @Override
     public void updateBook(UpdateBookRequest request, StreamObserver<BookMessage> responseObserver) {
-        bookRepository.findById(request.getId())
+        bookRepository.findWithAuthorById(request.getId())
                 .ifPresentOrElse(
                         book -> {
                             if (!request.getTitle().isEmpty()) book.setTitle(request.getTitle());
@@ -100,8 +183,15 @@ public class BookGrpcService extends BookServiceGrpc.BookServiceImplBase {
                                         .ifPresent(book::setAuthor);
                             }
 
-                            Book updated = bookRepository.save(book);
-                            responseObserver.onNext(toProto(updated));
+                            try {
+                                bookRepository.save(book);
+                            } catch (DataIntegrityViolationException e) {
+                                responseObserver.onError(integrityError(e));
+                                return;
+                            }
+                            // Map the detached book, not the merged copy: its author is already loaded, while the
+                            // copy's author may be a proxy that can no longer initialize once save() has committed
+                            responseObserver.onNext(ProtoMapper.toProto(book));
                             responseObserver.onCompleted();
                         },
                         () -> responseObserver.onError(
@@ -129,13 +219,7 @@ public class BookGrpcService extends BookServiceGrpc.BookServiceImplBase {
 
     @Override
     public void searchByAuthor(AuthorSearchRequest request, StreamObserver<BookListResponse> responseObserver) {
-        List<BookMessage> books = bookRepository.findByAuthorName(request.getAuthorName()).stream()
-                .map(this::toProto)
-                .collect(Collectors.toList());
-
-        BookListResponse response = BookListResponse.newBuilder()
-                .addAllBooks(books)
-                .build();
+        BookListResponse response = ProtoMapper.toBookListResponse(bookRepository.findWithAuthorByAuthorName(request.getAuthorName()));
 
         responseObserver.onNext(response);
         responseObserver.onCompleted();
@@ -143,44 +227,32 @@ public class BookGrpcService extends BookServiceGrpc.BookServiceImplBase {
 
     @Override
     public void streamBooksByAuthor(AuthorIdRequest request, StreamObserver<BookMessage> responseObserver) {
-        // Find books (you can also use paging or reactive flux under the hood)
-        List<Book> books = bookRepository.findByAuthorId(request.getId());
+        ServerCallStreamObserver<BookMessage> serverObserver = (ServerCallStreamObserver<BookMessage>) responseObserver;
 
-        // Stream each book one by one
-        for (Book book : books) {
-            responseObserver.onNext(toProto(book));
+        // Without a cancel handler onNext() throws once the client is gone
+        serverObserver.setOnCancelHandler(() ->
+                log.debug("StreamBooksByAuthor cancelled by client for author {}", request.getId()));
 
-            // Optional: simulate delay or add back-pressure handling
-             try {
-                 Thread.sleep(1000);
-             } catch (InterruptedException e) {}
-        }
-
-        // Important: signal end of stream
-        responseObserver.onCompleted();
+        // gRPC calls this when the call starts and every time the transport can take more messages
+        serverObserver.setOnReadyHandler(new AuthorBookStream(request.getId(), serverObserver));
     }
 
     @Override
     public StreamObserver<CreateBookRequest> bulkCreateBooks(StreamObserver<BookListResponse> responseObserver) {
-        List<Book> created = new ArrayList<>();
-        List<String> errors = new ArrayList<>();
+        int chunkSize = grpcProperties.getBulk().getChunkSize();
 
         return new StreamObserver<>() {
+            private final List<CreateBookRequest> pending = new ArrayList<>(chunkSize);
+            private final List<BookMessage> created = new ArrayList<>();
+            private final Set<String> knownIsbns = new HashSet<>();
+            private final ProtoMapper.AuthorInterner authors = new ProtoMapper.AuthorInterner();
+            private int failed;
+
             @Override
             public void onNext(CreateBookRequest req) {
-                try {
-                    // create logic
-                    Author author = authorRepository.findById(req.getAuthorId()).orElseThrow();
-                    Book book = Book.builder()
-                            .title(req.getTitle())
-                            .isbn(req.getIsbn())
-                            .price(req.getPrice())
-                            .author(author)
-                            .build();
-                    bookRepository.save(book);
-                    created.add(book);
-                } catch (Exception e) {
-                    errors.add("Failed for title: " + req.getTitle() + " → " + e.getMessage());
+                pending.add(req);
+                if (pending.size() >= chunkSize) {
+                    flush();
                 }
             }
 
@@ -191,12 +263,36 @@ public class BookGrpcService extends BookServiceGrpc.BookServiceImplBase {
 
             @Override
             public void onCompleted() {
+                flush();
+                log.info("Bulk create completed - created: {}, failed: {}", created.size(), failed);
+
                 BookListResponse resp = BookListResponse.newBuilder()
-                        .addAllBooks(created.stream().map(BookGrpcService.this::toProto).collect(Collectors.toList()))
+                        .addAllBooks(created)
                         .build();
                 responseObserver.onNext(resp);
                 responseObserver.onCompleted();
             }
+
+            private void flush() {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                try {
+                    for (BookBatchWriter.Outcome outcome : insertIsolatingDuplicates(pending, knownIsbns)) {
+                        if (outcome.success()) {
+                            created.add(authors.toProto(outcome.book()));
+                        } else {
+                            failed++;
+                            log.debug("Failed for title: {} → {}", outcome.request().getTitle(), outcome.error());
+                        }
+                    }
+                } catch (Exception e) {
+                    // Not a duplicate ISBN: the whole chunk was rolled back
+                    failed += pending.size();
+                    log.warn("Bulk create chunk of {} books failed", pending.size(), e);
+                }
+                pending.clear();
+            }
         };
     }
 
@@ -204,70 +300,126 @@ public class BookGrpcService extends BookServiceGrpc.BookServiceImplBase {
     public StreamObserver<CreateBookRequest> bulkCreateBooksStream(
             StreamObserver<BookCreationResult> responseObserver) {
 
+        int batchSize = grpcProperties.getBulk().getPipelineBatchSize();
+        // A partial batch is flushed once it has waited this long, so a client waiting for results gets them
+        Executor linger = CompletableFuture.delayedExecutor(
+                grpcProperties.getBulk().getPipelineLinger().toMillis(), TimeUnit.MILLISECONDS, lingerExecutor);
         AtomicInteger successCount = new AtomicInteger(0);
         AtomicInteger failCount = new AtomicInteger(0);
 
         return new StreamObserver<CreateBookRequest>() {
 
-            @Override
-            public void onNext(CreateBookRequest request) {
-                BookCreationResult.Builder resultBuilder = BookCreationResult.newBuilder();
+            // Linger flushes run off the call's thread and must not interleave with its callbacks.
+            // A lock rather than synchronized, which would pin the virtual thread's carrier during the insert
+            private final ReentrantLock lock = new ReentrantLock();
 
-                try {
-                    // Validate & create
-                    Author author = authorRepository.findById(request.getAuthorId())
-                            .orElseThrow(() -> new IllegalArgumentException("Author not found"));
-
-                    // Optional: check ISBN uniqueness, etc.
-                    if (bookRepository.existsByIsbn(request.getIsbn())) {
-                        throw new IllegalArgumentException("ISBN already exists");
-                    }
+            // Validated per micro-batch: one IN query for authors, one for ISBNs
+            private final List<CreateBookRequest> pending = new ArrayList<>(batchSize);
 
-                    Book book = Book.builder()
-                            .title(request.getTitle())
-                            .isbn(request.getIsbn())
-                            .price(request.getPrice())
-                            .author(author)
-                            .build();
+            // ISBNs known to be taken, so repeats on this stream are rejected without a query
+            private final Set<String> knownIsbns = new HashSet<>();
 
-                    Book saved = bookRepository.save(book);
+            private final ProtoMapper.AuthorInterner authors = new ProtoMapper.AuthorInterner();
 
-                    // Send success response immediately
-                    responseObserver.onNext(resultBuilder
-                            .setSuccess(true)
-                            .setCreatedBook(toProto(saved))
-                            .build());
+            // Counts flushes, so a linger flush scheduled before one of them does nothing
+            private long flushes;
+            private boolean lingering;
+            private boolean done;
 
-                    successCount.incrementAndGet();
-
-                } catch (Exception e) {
-                    // Send error response immediately
-                    responseObserver.onNext(resultBuilder
-                            .setSuccess(false)
-                            .setErrorMessage(e.getMessage())
-                            .build());
+            @Override
+            public void onNext(CreateBookRequest request) {
+                lock.lock();
+                try {
+                    pending.add(request);
+                    if (pending.size() >= batchSize) {
+                        flush();
+                    } else if (!lingering) {
+                        lingering = true;
+                        long flushesSoFar = flushes;
+                        linger.execute(() -> lingerFlush(flushesSoFar));
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
 
-                    failCount.incrementAndGet();
+            private void lingerFlush(long flushesSoFar) {
+                lock.lock();
+                try {
+                    if (!done && flushes == flushesSoFar) {
+                        flush();
+                    }
+                } finally {
+                    lock.unlock();
                 }
             }
 
             @Override
             public void onError(Throwable t) {
-                log.error("Client error during bulk stream", t);
-                // You can send final error summary if desired
-                sendFinalSummary(responseObserver, successCount.get(), failCount.get());
-                responseObserver.onError(t);
+                lock.lock();
+                try {
+                    done = true;
+                    log.error("Client error during bulk stream", t);
+                    // You can send final error summary if desired
+                    sendFinalSummary(responseObserver, successCount.get(), failCount.get());
+                    responseObserver.onError(t);
+                } finally {
+                    lock.unlock();
+                }
             }
 
             @Override
             public void onCompleted() {
-                log.info("Bulk create stream completed - success: {}, failed: {}",
-                        successCount.get(), failCount.get());
+                lock.lock();
+                try {
+                    done = true;
+                    flush();
+                    log.info("Bulk create stream completed - success: {}, failed: {}",
+                            successCount.get(), failCount.get());
 
-                // Send final summary
-                sendFinalSummary(responseObserver, successCount.get(), failCount.get());
+                    // Send final summary
+                    sendFinalSummary(responseObserver, successCount.get(), failCount.get());
 
-                responseObserver.onCompleted();
+                    responseObserver.onCompleted();
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            private void flush() {
+                flushes++;
+                lingering = false;
+                if (pending.isEmpty()) {
+                    return;
+                }
+                List<BookBatchWriter.Outcome> outcomes;
+                try {
+                    outcomes = insertIsolatingDuplicates(pending, knownIsbns);
+                } catch (Exception e) {
+                    log.warn("Bulk create batch of {} books failed", pending.size(), e);
+                    outcomes = pending.stream()
+                            .map(request -> BookBatchWriter.Outcome.failed(request, e.getMessage()))
+                            .toList();
+                }
+
+                // Results go out in request order, one per book
+                for (BookBatchWriter.Outcome outcome : outcomes) {
+                    BookCreationResult.Builder resultBuilder = BookCreationResult.newBuilder();
+                    if (outcome.success()) {
+                        responseObserver.onNext(resultBuilder
+                                .setSuccess(true)
+                                .setCreatedBook(authors.toProto(outcome.book()))
+                                .build());
+                        successCount.incrementAndGet();
+                    } else {
+                        responseObserver.onNext(resultBuilder
+                                .setSuccess(false)
+                                .setErrorMessage(outcome.error())
+                                .build());
+                        failCount.incrementAndGet();
+                    }
+                }
+                pending.clear();
             }
 
             private void sendFinalSummary(StreamObserver<BookCreationResult> responseObserver,
@@ -281,22 +433,125 @@ public class BookGrpcService extends BookServiceGrpc.BookServiceImplBase {
         };
     }
 
-    private BookMessage toProto(Book book) {
-        return BookMessage.newBuilder()
-                .setId(book.getId())
-                .setTitle(book.getTitle())
-                .setIsbn(book.getIsbn())
-                .setPrice(book.getPrice())
-                .setAuthor(authorToProto(book.getAuthor()))
-                .build();
+    private static RuntimeException integrityError(DataIntegrityViolationException e) {
+        if (DuplicateKeys.isDuplicateKey(e)) {
+            return io.grpc.Status.ALREADY_EXISTS
+                    .withDescription(BookBatchWriter.ISBN_EXISTS)
+                    .asRuntimeException();
+        }
+        return io.grpc.Status.FAILED_PRECONDITION
+                .withDescription(e.getMostSpecificCause().getMessage())
+                .asRuntimeException();
     }
 
-    private AuthorMessage authorToProto(Author author) {
-        return AuthorMessage.newBuilder()
-                .setId(author.getId())
-                .setName(author.getName())
-                .setEmail(author.getEmail() != null ? author.getEmail() : "")
-                .setBio(author.getBio() != null ? author.getBio() : "")
-                .build();
+    /**
+     * Insert a chunk with its ISBNs validated up front, so a duplicate fails alone instead of rolling back the chunk.
+     * ISBNs taken or inserted here are added to {@code knownIsbns}, the ISBNs seen earlier on the same stream.
+     */
+    private List<BookBatchWriter.Outcome> insertIsolatingDuplicates(List<CreateBookRequest> batch, Set<String> knownIsbns) {
+        List<BookBatchWriter.Outcome> outcomes;
+        try {
+            outcomes = bookBatchWriter.insertUniqueChunk(batch, knownIsbns);
+        } catch (DataIntegrityViolationException e) {
+            // Another writer took one of the ISBNs after validation (or some other constraint failed);
+            // retry one by one to isolate it
+            outcomes = new ArrayList<>(batch.size());
+            for (CreateBookRequest request : batch) {
+                try {
+                    outcomes.addAll(bookBatchWriter.insertUniqueChunk(List.of(request), knownIsbns));
+                } catch (DataIntegrityViolationException violation) {
+                    // Only the unique constraint means a taken ISBN; anything else is reported as it is
+                    outcomes.add(BookBatchWriter.Outcome.failed(request, DuplicateKeys.isDuplicateKey(violation)
+                            ? BookBatchWriter.ISBN_EXISTS
+                            : violation.getMostSpecificCause().getMessage()));
+                }
+            }
+        }
+        for (BookBatchWriter.Outcome outcome : outcomes) {
+            String isbn = Book.isbnOrNull(outcome.request().getIsbn());
+            if (isbn != null && (outcome.success() || BookBatchWriter.ISBN_EXISTS.equals(outcome.error()))) {
+                knownIsbns.add(isbn);
+            }
+        }
+        return outcomes;
+    }
+
+    @Override
+    public void watchBooks(WatchBooksRequest request, StreamObserver<BookChangeEvent> responseObserver) {
+        Set<Long> bookIds = Set.copyOf(request.getBookIdsList());
+        Set<Long> authorIds = Set.copyOf(request.getAuthorIdsList());
+        boolean all = bookIds.isEmpty() && authorIds.isEmpty();
+
+        // Filtered before buffering, so a slow watcher only ever holds events it asked for
+        Flux<ChangeEvent> changes = bookEventPublisher.getChangeFlux()
+                .filter(event -> all || bookIds.contains(event.getId())
+                        || watchesAuthor(authorIds, (BookSnapshot) event.getPayload()));
+
+        ChangeFeedSubscriber.watch(eventDelivery.bounded(changes, ChangeEvent::entityKey),
+                (ServerCallStreamObserver<BookChangeEvent>) responseObserver,
+                event -> BookChangeEvent.newBuilder()
+                        .setType(ProtoMapper.toProto(event.getType()))
+                        .setId(event.getId())
+                        .setBook(ProtoMapper.toProto((BookSnapshot) event.getPayload()))
+                        .build());
+    }
+
+    // Set.copyOf sets reject contains(null), and a book may have no author
+    private static boolean watchesAuthor(Set<Long> authorIds, BookSnapshot book) {
+        return book.authorId() != null && authorIds.contains(book.authorId());
+    }
+
+    /**
+     * Reads an author's books one keyset chunk at a time and only sends while the transport is ready,
+     * so memory is bounded by one chunk and no executor thread waits on a slow client.
+     * Callbacks of a single call are serialized by gRPC, so no locking is needed.
+     */
+    private final class AuthorBookStream implements Runnable {
+        private final long authorId;
+        private final ServerCallStreamObserver<BookMessage> observer;
+        private final int chunkSize = grpcProperties.getStreaming().getChunkSize();
+        private final Deque<Book> chunk = new ArrayDeque<>();
+        private final ProtoMapper.AuthorInterner authors = new ProtoMapper.AuthorInterner();
+        private long lastId = 0;
+        private boolean exhausted;
+        private boolean done;
+
+        private AuthorBookStream(long authorId, ServerCallStreamObserver<BookMessage> observer) {
+            this.authorId = authorId;
+            this.observer = observer;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!done && observer.isReady()) {
+                    if (observer.isCancelled()) {
+                        // Stop issuing queries as soon as the client goes away
+                        done = true;
+                        return;
+                    }
+                    if (chunk.isEmpty()) {
+                        if (exhausted) {
+                            done = true;
+                            observer.onCompleted();
+                            return;
+                        }
+                        List<Book> next = bookRepository.findByAuthorIdAfter(authorId, lastId, PageRequest.ofSize(chunkSize));
+                        exhausted = next.size() < chunkSize;
+                        chunk.addAll(next);
+                        continue;
+                    }
+                    Book book = chunk.poll();
+                    lastId = book.getId();
+                    observer.onNext(authors.toProto(book));
+                }
+            } catch (Exception e) {
+                log.error("StreamBooksByAuthor failed for author {}", authorId, e);
+                done = true;
+                observer.onError(io.grpc.Status.INTERNAL
+                        .withDescription("Failed to stream books")
+                        .asRuntimeException());
+            }
+        }
     }
 }
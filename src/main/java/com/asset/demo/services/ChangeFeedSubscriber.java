@@ -0,0 +1,78 @@
+package com.asset.demo.services;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import lombok.extern.log4j.Log4j2;
+import org.reactivestreams.Subscription;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Bridges an event flux to a server-streaming call with gRPC flow control: one event is requested at a
+ * time, and only while the transport is ready. While the client is slow, events wait in the per-subscriber
+ * buffer of {@code EventDelivery.bounded}, where the overflow policy drops or conflates them.
+ * <p>
+ * Reactor serializes onNext/onComplete/onError, so the observer is never called concurrently.
+ */
+@Log4j2
+final class ChangeFeedSubscriber<T, M> extends BaseSubscriber<T> {
+
+    private final ServerCallStreamObserver<M> observer;
+    private final Function<T, M> toMessage;
+    // One outstanding request at most; set when requested, cleared when the event arrives
+    private final AtomicBoolean requested = new AtomicBoolean();
+
+    private ChangeFeedSubscriber(ServerCallStreamObserver<M> observer, Function<T, M> toMessage) {
+        this.observer = observer;
+        this.toMessage = toMessage;
+    }
+
+    static <T, M> void watch(Flux<T> events, ServerCallStreamObserver<M> observer, Function<T, M> toMessage) {
+        ChangeFeedSubscriber<T, M> subscriber = new ChangeFeedSubscriber<>(observer, toMessage);
+        // Subscribed first, so an early onReady never requests before there is a subscription
+        events.subscribe(subscriber);
+        observer.setOnCancelHandler(subscriber::dispose);
+        observer.setOnReadyHandler(subscriber::requestIfReady);
+    }
+
+    @Override
+    protected void hookOnSubscribe(Subscription subscription) {
+        requestIfReady();
+    }
+
+    @Override
+    protected void hookOnNext(T event) {
+        requested.set(false);
+        observer.onNext(toMessage.apply(event));
+        requestIfReady();
+    }
+
+    @Override
+    protected void hookOnComplete() {
+        observer.onCompleted();
+    }
+
+    @Override
+    protected void hookOnError(Throwable error) {
+        if (Exceptions.isOverflow(error)) {
+            observer.onError(Status.RESOURCE_EXHAUSTED
+                    .withDescription("Consumer too slow, change feed disconnected")
+                    .asRuntimeException());
+            return;
+        }
+        log.error("Change feed failed", error);
+        observer.onError(Status.INTERNAL
+                .withDescription("Change feed failed")
+                .asRuntimeException());
+    }
+
+    private void requestIfReady() {
+        if (!isDisposed() && observer.isReady() && requested.compareAndSet(false, true)) {
+            request(1);
+        }
+    }
+}
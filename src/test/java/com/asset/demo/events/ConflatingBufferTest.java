@@ -0,0 +1,59 @@
+package com.asset.demo.events;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConflatingBufferTest {
+
+    private final AtomicInteger conflated = new AtomicInteger();
+    private final AtomicInteger dropped = new AtomicInteger();
+
+    @Test
+    void newerEventReplacesPendingOneInPlace() {
+        Flux<Change> source = Flux.just(new Change("a", 1), new Change("b", 1), new Change("a", 2), new Change("c", 1));
+
+        // Nothing requested until the whole source is buffered
+        StepVerifier.create(conflate(source, 10), 0)
+                .thenRequest(3)
+                .expectNext(new Change("a", 2), new Change("b", 1), new Change("c", 1))
+                .verifyComplete();
+
+        assertThat(conflated).hasValue(1);
+        assertThat(dropped).hasValue(0);
+    }
+
+    @Test
+    void dropsOldestKeyWhenFull() {
+        Flux<Change> source = Flux.just(new Change("a", 1), new Change("b", 1), new Change("c", 1));
+
+        StepVerifier.create(conflate(source, 2), 0)
+                .thenRequest(2)
+                .expectNext(new Change("b", 1), new Change("c", 1))
+                .verifyComplete();
+
+        assertThat(dropped).hasValue(1);
+    }
+
+    @Test
+    void deliversInArrivalOrderWhenRequested() {
+        Flux<Change> source = Flux.just(new Change("a", 1), new Change("b", 1), new Change("a", 2));
+
+        StepVerifier.create(conflate(source, 10))
+                .expectNext(new Change("a", 1), new Change("b", 1), new Change("a", 2))
+                .verifyComplete();
+
+        assertThat(conflated).hasValue(0);
+    }
+
+    private Flux<Change> conflate(Flux<Change> source, int capacity) {
+        return ConflatingBuffer.conflate(source, Change::key, capacity, conflated::incrementAndGet, dropped::incrementAndGet);
+    }
+
+    private record Change(String key, int version) {
+    }
+}
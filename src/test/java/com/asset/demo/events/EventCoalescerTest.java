@@ -0,0 +1,55 @@
+package com.asset.demo.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventCoalescerTest {
+
+    @Test
+    void createdThenDeletedLeavesNothing() {
+        Map<String, ChangeEvent> events = new LinkedHashMap<>();
+
+        EventCoalescer.fold(events, new ChangeEvent(ChangeEvent.Type.BOOK_CREATED, 1L, "v1"));
+        boolean merged = EventCoalescer.fold(events, new ChangeEvent(ChangeEvent.Type.BOOK_DELETED, 1L, "v1"));
+
+        assertThat(merged).isTrue();
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void createdThenUpdatedIsCreatedWithLatestState() {
+        ChangeEvent created = new ChangeEvent(ChangeEvent.Type.BOOK_CREATED, 1L, "v1");
+        ChangeEvent updated = new ChangeEvent(ChangeEvent.Type.BOOK_UPDATED, 1L, "v2").withSequence(7);
+
+        ChangeEvent merged = EventCoalescer.merge(created, updated);
+
+        assertThat(merged.getType()).isEqualTo(ChangeEvent.Type.BOOK_CREATED);
+        assertThat(merged.getPayload()).isEqualTo("v2");
+        assertThat(merged.getSequence()).isEqualTo(7);
+    }
+
+    @Test
+    void updatedThenDeletedIsDeleted() {
+        ChangeEvent updated = new ChangeEvent(ChangeEvent.Type.BOOK_UPDATED, 1L, "v2");
+        ChangeEvent deleted = new ChangeEvent(ChangeEvent.Type.BOOK_DELETED, 1L, "v2");
+
+        assertThat(EventCoalescer.merge(updated, deleted)).isSameAs(deleted);
+    }
+
+    @Test
+    void mergedEntityKeepsPositionOfFirstChange() {
+        Map<String, ChangeEvent> events = new LinkedHashMap<>();
+
+        EventCoalescer.fold(events, new ChangeEvent(ChangeEvent.Type.BOOK_UPDATED, 1L, "a1"));
+        EventCoalescer.fold(events, new ChangeEvent(ChangeEvent.Type.AUTHOR_UPDATED, 1L, "b1"));
+        boolean merged = EventCoalescer.fold(events, new ChangeEvent(ChangeEvent.Type.BOOK_UPDATED, 1L, "a2"));
+
+        assertThat(merged).isTrue();
+        assertThat(events.keySet()).containsExactly("Book:1", "Author:1");
+        assertThat(events.get("Book:1").getPayload()).isEqualTo("a2");
+    }
+}
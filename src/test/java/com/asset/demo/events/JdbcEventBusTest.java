@@ -0,0 +1,124 @@
+package com.asset.demo.events;
+
+import com.asset.demo.configs.EventProperties;
+import com.asset.demo.entities.EventBatch;
+import com.asset.demo.repositories.EventBatchRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JdbcEventBusTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Duration SETTLE = Duration.ofMillis(200);
+
+    private final EventBatchRepository repository = mock(EventBatchRepository.class);
+    private final List<List<ChangeEvent>> deliveries = new ArrayList<>();
+    private JdbcEventBus bus;
+
+    @BeforeEach
+    void startBus() {
+        EventProperties properties = new EventProperties();
+        // Polls are driven by the tests
+        properties.getJdbc().setPollInterval(Duration.ofHours(1));
+        properties.getJdbc().setCommitSettle(SETTLE);
+        when(repository.findMaxId()).thenReturn(0L);
+
+        bus = new JdbcEventBus(properties, repository, new ObjectMapper());
+        bus.subscribe(deliveries::add);
+        bus.start();
+    }
+
+    @AfterEach
+    void stopBus() {
+        bus.stop();
+    }
+
+    @Test
+    void rowAfterGapWaitsUntilSettled() {
+        EventBatch second = row(2, T0, event("BOOK_UPDATED", 7));
+        when(repository.findAfterWithDatabaseTime(eq(0L), any()))
+                .thenReturn(fresh(T0.plusMillis(100), second))
+                .thenReturn(fresh(T0.plus(SETTLE).plusMillis(1), second));
+
+        bus.poll();
+        assertThat(deliveries).isEmpty();
+
+        bus.poll();
+        assertThat(deliveries).hasSize(1);
+        assertThat(deliveries.get(0)).extracting(ChangeEvent::getSequence).containsExactly(2L << JdbcEventBus.INDEX_BITS);
+    }
+
+    @Test
+    void lateBatchIsDeliveredWithLowerSequence() {
+        when(repository.findAfterWithDatabaseTime(eq(0L), any()))
+                .thenReturn(fresh(T0.plus(SETTLE).plusMillis(1), row(2, T0, event("BOOK_UPDATED", 7))));
+        when(repository.findAllById(List.of(1L)))
+                .thenReturn(List.of(row(1, T0.minusMillis(10), event("BOOK_UPDATED", 8))));
+
+        // Batch 1 is missing: batch 2 goes out once settled and 1 is skipped
+        bus.poll();
+        // Batch 1 commits after all
+        bus.poll();
+        // Delivered once, then no longer watched
+        bus.poll();
+
+        assertThat(deliveries).hasSize(2);
+        assertThat(deliveries.get(1)).singleElement().satisfies(event -> {
+            assertThat(event.getId()).isEqualTo(8L);
+            assertThat(event.getSequence()).isEqualTo(1L << JdbcEventBus.INDEX_BITS)
+                    .isLessThan(deliveries.get(0).get(0).getSequence());
+        });
+        verify(repository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    void changesToAnEntityAcrossRowsAreMerged() {
+        EventBatch first = row(1, T0, event("BOOK_CREATED", 7), event("BOOK_UPDATED", 8), event("AUTHOR_UPDATED", 3));
+        EventBatch second = row(2, T0, event("BOOK_DELETED", 7), event("BOOK_UPDATED", 8));
+        when(repository.findAfterWithDatabaseTime(eq(0L), any())).thenReturn(fresh(T0, first, second));
+
+        bus.poll();
+
+        assertThat(deliveries).hasSize(1);
+        // Book 7 was created and deleted within the poll; book 8 keeps its latest update, in sequence order
+        assertThat(deliveries.get(0)).extracting(ChangeEvent::entityKey).containsExactly("Author:3", "Book:8");
+        assertThat(deliveries.get(0)).extracting(ChangeEvent::getSequence)
+                .containsExactly(1L << JdbcEventBus.INDEX_BITS | 2, 2L << JdbcEventBus.INDEX_BITS | 1);
+    }
+
+    private static EventBatch row(long id, Instant createdAt, String... events) {
+        return EventBatch.builder()
+                .id(id)
+                .origin("other-instance")
+                .createdAt(createdAt)
+                .events("[" + String.join(",", events) + "]")
+                .build();
+    }
+
+    private static String event(String type, long id) {
+        return "{\"type\":\"" + type + "\",\"id\":" + id + ",\"payload\":null}";
+    }
+
+    private static List<Object[]> fresh(Instant databaseTime, EventBatch... rows) {
+        return Arrays.stream(rows)
+                .map(row -> new Object[]{row, databaseTime})
+                .toList();
+    }
+}